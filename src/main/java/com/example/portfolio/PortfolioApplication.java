@@ -1,13 +1,19 @@
 package com.example.portfolio;
 
+import com.example.portfolio.common.config.KafkaProducerProperties;
+import com.example.portfolio.common.messaging.ConsumerBackpressureProperties;
+import com.example.portfolio.common.messaging.EventCodecProperties;
 import com.example.portfolio.common.security.JwtProperties;
+import com.example.portfolio.common.transaction.TransactionRetryProperties;
+import com.example.portfolio.order.infra.OutboxDrainProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, TransactionRetryProperties.class, EventCodecProperties.class,
+        KafkaProducerProperties.class, OutboxDrainProperties.class, ConsumerBackpressureProperties.class})
 @EnableScheduling
 public class PortfolioApplication {
 
@@ -0,0 +1,92 @@
+package com.example.portfolio.common.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 제한된 큐에 쌓인 항목을 최대 N건 또는 첫 항목 이후 T 밀리초 단위로 묶어 전용 데몬 스레드 하나에서 처리한다.
+ * 종료 시에는 새 항목을 받지 않고 큐에 남은 항목까지 처리한 뒤 멈춘다.
+ */
+public class MicroBatchQueue<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(MicroBatchQueue.class);
+
+    private final String name;
+    private final Consumer<List<T>> handler;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<T> queue;
+    private final ExecutorService worker;
+    private volatile boolean running = true;
+
+    public MicroBatchQueue(String name, int maxBatchSize, long maxWaitMs, int queueCapacity, Consumer<List<T>> handler) {
+        this.name = name;
+        this.handler = handler;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.execute(this::drainLoop);
+    }
+
+    /**
+     * 항목을 큐에 넣는다. 큐가 가득 찼거나 종료 중이면 false를 반환한다.
+     */
+    public boolean offer(T item) {
+        return running && queue.offer(item);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.shutdown();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    handler.accept(collectBatch(first));
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("마이크로 배치 처리 오류: worker={}", name, ex);
+            }
+        }
+    }
+
+    private List<T> collectBatch(T first) throws InterruptedException {
+        List<T> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            T next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.portfolio.common.config;
 
+import com.example.portfolio.common.messaging.ConsumerBackpressureController;
+import com.example.portfolio.common.messaging.ConsumerLatencyInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,9 +20,8 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.converter.StringJsonMessageConverter;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.converter.ByteArrayJsonMessageConverter;
 
 /**
  * 서비스 전역에서 JSON 페이로드를 주고받을 수 있도록 Kafka 프로듀서/컨슈머 구성을 제공한다.
@@ -28,23 +32,51 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${app.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${app.kafka.consumer.concurrency:3}")
+    private int concurrency;
+
+    private final KafkaProducerProperties producerProperties;
+
+    public KafkaConfig(KafkaProducerProperties producerProperties) {
+        this.producerProperties = producerProperties;
+    }
+
     @Bean
     public Map<String, Object> producerConfigs() {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        props.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, producerProperties.lingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, producerProperties.batchSize());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producerProperties.compressionType());
+        props.put(ProducerConfig.ACKS_CONFIG, producerProperties.acks());
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, producerProperties.idempotence());
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, producerProperties.maxInFlightRequests());
         return props;
     }
 
+    /**
+     * transactional이면 접두사 뒤에 인스턴스 식별자를 붙여 레플리카끼리는 서로 펜싱하지 않고,
+     * 같은 인스턴스가 재시작하면 같은 transactional.id로 이전 좀비 프로듀서를 펜싱한다.
+     */
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    public ProducerFactory<String, byte[]> producerFactory() {
+        DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(producerConfigs());
+        if (producerProperties.transactional()) {
+            if (producerProperties.instanceId() == null) {
+                throw new IllegalStateException("transactional 프로듀서에는 app.kafka.producer.instance-id(파드 이름 등)가 필요합니다.");
+            }
+            factory.setTransactionIdPrefix(producerProperties.transactionIdPrefix() + producerProperties.instanceId() + "-");
+        }
+        return factory;
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 
@@ -53,24 +85,42 @@ public class KafkaConfig {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.example.portfolio.*");
-        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         return props;
     }
 
     @Bean
-    public ConsumerFactory<String, Object> consumerFactory() {
+    public ConsumerFactory<String, byte[]> consumerFactory() {
         return new DefaultKafkaConsumerFactory<>(consumerConfigs());
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory(
+            ObjectMapper objectMapper, ConsumerBackpressureController backpressureController) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setObservationEnabled(true);
+        factory.setRecordMessageConverter(new ByteArrayJsonMessageConverter(objectMapper));
+        factory.setRecordInterceptor(new ConsumerLatencyInterceptor<>(backpressureController));
+        return factory;
+    }
+
+    /**
+     * poll 한 번에 받은 레코드를 리스트로 넘기는 배치 리스너용 팩토리다. 오프셋은 배치 처리 후 한 번 커밋한다.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> batchKafkaListenerContainerFactory(
+            ConsumerBackpressureController backpressureController) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
-        factory.setConcurrency(3);
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        factory.setBatchInterceptor(new ConsumerLatencyInterceptor<>(backpressureController));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
         factory.getContainerProperties().setObservationEnabled(true);
-        factory.setRecordMessageConverter(new StringJsonMessageConverter());
         return factory;
     }
 }
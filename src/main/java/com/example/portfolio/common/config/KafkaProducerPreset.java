@@ -0,0 +1,36 @@
+package com.example.portfolio.common.config;
+
+/**
+ * 프로듀서 튜닝 프리셋이다. {@code app.kafka.producer}에 개별 값을 지정하면 프리셋 값보다 우선한다.
+ * <ul>
+ *   <li>LOW_LATENCY: 배치를 기다리지 않고 즉시 전송한다. 커밋 후 빠른 발행 경로에 맞춘 기본값이다.</li>
+ *   <li>HIGH_THROUGHPUT: 최대 20ms 동안 큰 배치를 모아 lz4로 압축한다. 백로그 소진이나 대량 발행에서 브로커 요청 수와 네트워크 사용량을 줄인다.</li>
+ * </ul>
+ */
+public enum KafkaProducerPreset {
+
+    LOW_LATENCY(0, 16_384, "none"),
+    HIGH_THROUGHPUT(20, 262_144, "lz4");
+
+    private final int lingerMs;
+    private final int batchSize;
+    private final String compressionType;
+
+    KafkaProducerPreset(int lingerMs, int batchSize, String compressionType) {
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.compressionType = compressionType;
+    }
+
+    public int lingerMs() {
+        return lingerMs;
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public String compressionType() {
+        return compressionType;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.portfolio.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Kafka 프로듀서 튜닝 값을 환경별로 바인딩한다. 지정하지 않은 값은 {@link KafkaProducerPreset}에서 채운다.
+ * transactional이면 outbox 배치 하나를 Kafka 트랜잭션 하나로 발행한다.
+ * instanceId는 재시작해도 바뀌지 않는 인스턴스 식별자(파드 이름 등)로, transactional.id 접두사 뒤에 붙는다.
+ */
+@ConfigurationProperties(prefix = "app.kafka.producer")
+public record KafkaProducerProperties(
+        KafkaProducerPreset preset,
+        Integer lingerMs,
+        Integer batchSize,
+        String compressionType,
+        String acks,
+        Boolean idempotence,
+        Integer maxInFlightRequests,
+        boolean transactional,
+        String transactionIdPrefix,
+        String instanceId) {
+
+    public KafkaProducerProperties {
+        preset = preset != null ? preset : KafkaProducerPreset.LOW_LATENCY;
+        lingerMs = lingerMs != null ? lingerMs : preset.lingerMs();
+        batchSize = batchSize != null ? batchSize : preset.batchSize();
+        compressionType = compressionType != null && !compressionType.isBlank() ? compressionType : preset.compressionType();
+        acks = acks != null && !acks.isBlank() ? acks : "all";
+        idempotence = idempotence != null ? idempotence : Boolean.TRUE;
+        maxInFlightRequests = maxInFlightRequests != null ? maxInFlightRequests : 5;
+        transactionIdPrefix = transactionIdPrefix != null && !transactionIdPrefix.isBlank() ? transactionIdPrefix : "portfolio-outbox-";
+        instanceId = instanceId != null && !instanceId.isBlank() ? instanceId.trim() : null;
+    }
+}
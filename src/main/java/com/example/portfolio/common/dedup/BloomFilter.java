@@ -0,0 +1,71 @@
+package com.example.portfolio.common.dedup;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 문자열 키용 고정 크기 블룸 필터다. 없다고 답하면 확실히 넣지 않은 키이고, 있다고 답하면 fpp 확률로 오탐일 수 있다.
+ * 동기화하지 않으므로 호출하는 쪽에서 잠금을 잡는다.
+ */
+final class BloomFilter {
+
+    private final long[] words;
+    private final int bitCount;
+    private final int hashCount;
+    private int insertions;
+
+    BloomFilter(int expectedInsertions, double fpp) {
+        int expected = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-expected * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(64, Math.min(bits, Integer.MAX_VALUE - 64L));
+        this.words = new long[(bitCount + 63) / 64];
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+    }
+
+    void put(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = index(h1 + i * h2);
+            words[bit >>> 6] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = index(h1 + i * h2);
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int insertions() {
+        return insertions;
+    }
+
+    private int index(int combined) {
+        return (combined < 0 ? ~combined : combined) % bitCount;
+    }
+
+    /**
+     * FNV-1a 64비트 해시에 splitmix64 마무리 섞기를 더해 상·하위 32비트를 독립적인 두 해시로 쓴다.
+     */
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 30;
+        hash *= 0xbf58476d1ce4e5b9L;
+        hash ^= hash >>> 27;
+        hash *= 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
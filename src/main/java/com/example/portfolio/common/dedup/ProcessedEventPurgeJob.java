@@ -0,0 +1,48 @@
+package com.example.portfolio.common.dedup;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * TTL이 지난 processed_events 행을 processed_at 범위 삭제로 청크 단위 정리해 테이블을 최근 처리분 수준으로 유지한다.
+ */
+@Component
+public class ProcessedEventPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessedEventPurgeJob.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlHours;
+    private final int chunkSize;
+
+    public ProcessedEventPurgeJob(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.dedup.ttl-hours:72}") long ttlHours,
+            @Value("${app.dedup.purge-chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlHours = ttlHours;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.dedup.purge-cron:0 */10 * * * *}")
+    public void purgeExpired() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(ttlHours, ChronoUnit.HOURS));
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM processed_events WHERE processed_at < ? ORDER BY processed_at LIMIT ?", cutoff, chunkSize);
+            purged += deleted;
+        } while (deleted == chunkSize);
+        if (purged > 0) {
+            log.info("만료 처리 이벤트 기록 정리 완료: count={}, before={}", purged, cutoff);
+        }
+    }
+}
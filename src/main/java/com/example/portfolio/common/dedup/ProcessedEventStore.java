@@ -0,0 +1,176 @@
+package com.example.portfolio.common.dedup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 컨슈머 공용 중복 이벤트 판별기다. processed_events 테이블이 기준이고, 앞단의 블룸 필터가 "처리한 적 없음"을 DB 조회 없이 판정한다.
+ * 필터가 "있을 수 있음"이라고 답한 이벤트만 DB에서 확인하므로 대부분을 차지하는 신규 이벤트는 조회 비용이 없다.
+ * 필터는 capacity건마다 세대를 교체해 최근 capacity~2*capacity건을 기억하며, 기동 시 TTL 안의 최근 warmUpLimit건으로 다시 채운다.
+ * 필터 창보다 오래된 이벤트가 재전달되면 DB 확인 없이 통과하므로, 컨슈머의 저장 자체도 멱등이어야 한다.
+ */
+@Component
+public class ProcessedEventStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessedEventStore.class);
+    private static final int INSERT_CHUNK_SIZE = 500;
+    private static final int WARM_UP_CHUNK_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacity;
+    private final double falsePositiveRate;
+    private final long ttlHours;
+    private final int warmUpLimit;
+    private final Counter dbLookups;
+    private final Counter duplicates;
+    private BloomFilter current;
+    private BloomFilter previous;
+
+    public ProcessedEventStore(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.dedup.capacity:1000000}") int capacity,
+            @Value("${app.dedup.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.dedup.ttl-hours:72}") long ttlHours,
+            @Value("${app.dedup.warm-up-limit:100000}") int warmUpLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.ttlHours = ttlHours;
+        this.warmUpLimit = Math.min(capacity, warmUpLimit);
+        this.dbLookups = Counter.builder("dedup.db.lookups").register(meterRegistry);
+        this.duplicates = Counter.builder("dedup.duplicates").register(meterRegistry);
+        this.current = new BloomFilter(capacity, falsePositiveRate);
+        this.previous = new BloomFilter(1, falsePositiveRate);
+    }
+
+    /**
+     * 주어진 이벤트 중 이미 처리된 ID를 반환한다. 필터에 걸린 후보만 한 번의 IN 조회로 확인한다.
+     */
+    public Set<String> findProcessed(String consumer, Collection<String> eventIds) {
+        List<String> candidates = new ArrayList<>();
+        synchronized (this) {
+            for (String eventId : eventIds) {
+                String key = key(consumer, eventId);
+                if (current.mightContain(key) || previous.mightContain(key)) {
+                    candidates.add(eventId);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        dbLookups.increment();
+        String placeholders = String.join(", ", candidates.stream().map(id -> "?").toList());
+        List<Object> args = new ArrayList<>(candidates.size() + 1);
+        args.add(consumer);
+        args.addAll(candidates);
+        Set<String> processed = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT event_id FROM processed_events WHERE consumer = ? AND event_id IN (" + placeholders + ")",
+                String.class, args.toArray()));
+        duplicates.increment(processed.size());
+        return processed;
+    }
+
+    /**
+     * 처리 완료를 현재 트랜잭션에 기록한다. 필터에는 커밋된 뒤에 반영해 롤백된 이벤트가 필터에 남지 않게 한다.
+     */
+    public void markProcessed(String consumer, Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = List.copyOf(eventIds);
+        Timestamp processedAt = Timestamp.from(Instant.now());
+        for (int from = 0; from < ids.size(); from += INSERT_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + INSERT_CHUNK_SIZE));
+            List<Object> args = new ArrayList<>(chunk.size() * 3);
+            chunk.forEach(eventId -> {
+                args.add(consumer);
+                args.add(eventId);
+                args.add(processedAt);
+            });
+            jdbcTemplate.update("INSERT INTO processed_events (consumer, event_id, processed_at) VALUES "
+                    + String.join(", ", chunk.stream().map(id -> "(?, ?, ?)").toList())
+                    + " ON DUPLICATE KEY UPDATE processed_at = processed_at", args.toArray());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(consumer, ids);
+                }
+            });
+        } else {
+            remember(consumer, ids);
+        }
+    }
+
+    /**
+     * 기동 시 TTL 안에서 가장 최근에 처리된 warmUpLimit건으로 필터를 채운다.
+     * 결과를 메모리에 모으지 않도록 행을 스트리밍으로 받아 WARM_UP_CHUNK_SIZE건씩 필터에 넣는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Timestamp since = Timestamp.from(Instant.now().minus(ttlHours, ChronoUnit.HOURS));
+        List<String> chunk = new ArrayList<>(WARM_UP_CHUNK_SIZE);
+        int[] restored = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT consumer, event_id FROM processed_events WHERE processed_at >= ? ORDER BY processed_at DESC LIMIT ?",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL 드라이버는 fetch size가 Integer.MIN_VALUE일 때만 행을 한 건씩 스트리밍한다.
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setTimestamp(1, since);
+            statement.setInt(2, warmUpLimit);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            chunk.add(key(rs.getString(1), rs.getString(2)));
+            if (chunk.size() == WARM_UP_CHUNK_SIZE) {
+                restored[0] += restore(chunk);
+            }
+        });
+        restored[0] += restore(chunk);
+        log.info("중복 이벤트 필터 복원 완료: count={}", restored[0]);
+    }
+
+    private synchronized int restore(List<String> keys) {
+        int size = keys.size();
+        keys.forEach(current::put);
+        keys.clear();
+        return size;
+    }
+
+    private synchronized void remember(String consumer, List<String> eventIds) {
+        for (String eventId : eventIds) {
+            if (current.insertions() >= capacity) {
+                previous = current;
+                current = new BloomFilter(capacity, falsePositiveRate);
+            }
+            current.put(key(consumer, eventId));
+        }
+    }
+
+    private static String key(String consumer, String eventId) {
+        return consumer + ':' + eventId;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.ConstraintViolationException;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -45,6 +46,11 @@ public class GlobalExceptionHandler {
         return buildResponse(errorCode, status, exception.getMessage(), request, List.of());
     }
 
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleConcurrency(ConcurrencyFailureException exception, HttpServletRequest request) {
+        return buildResponse(ErrorCode.CONFLICT_ERROR, HttpStatus.CONFLICT, "동시 요청 충돌이 발생했습니다. 다시 시도해 주세요.", request, List.of());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleUnexpected(Exception exception, HttpServletRequest request) {
         return buildResponse(ErrorCode.INTERNAL_ERROR, HttpStatus.INTERNAL_SERVER_ERROR, exception.getMessage(), request, List.of());
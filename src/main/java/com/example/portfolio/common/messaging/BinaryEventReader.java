@@ -0,0 +1,96 @@
+package com.example.portfolio.common.messaging;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * {@link BinaryEventWriter}로 쓴 페이로드를 같은 순서로 읽는다.
+ */
+public class BinaryEventReader {
+
+    private final byte[] payload;
+    private final int version;
+    private int position;
+
+    public BinaryEventReader(byte[] payload) {
+        this.payload = payload;
+        if (payload.length == 0 || (payload[0] & 0xFF) != BinaryEventWriter.MAGIC) {
+            throw new IllegalArgumentException("바이너리 이벤트 형식이 아닙니다.");
+        }
+        this.position = 1;
+        this.version = readInt();
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public long readLong() {
+        long zigzag = 0;
+        int shift = 0;
+        while (true) {
+            byte b = next();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IllegalArgumentException("잘못된 varint입니다.");
+            }
+        }
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public int readInt() {
+        return Math.toIntExact(readLong());
+    }
+
+    public boolean readBoolean() {
+        return next() != 0;
+    }
+
+    public String readString() {
+        int length = readInt();
+        return length < 0 ? null : new String(readBytes(length), StandardCharsets.UTF_8);
+    }
+
+    public BigDecimal readDecimal() {
+        if (!readBoolean()) {
+            return null;
+        }
+        int scale = readInt();
+        return new BigDecimal(new BigInteger(readBytes(readInt())), scale);
+    }
+
+    public OffsetDateTime readTimestamp() {
+        if (!readBoolean()) {
+            return null;
+        }
+        long epochSecond = readLong();
+        int nano = readInt();
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds(readInt());
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset);
+    }
+
+    private byte[] readBytes(int length) {
+        if (length < 0 || position + length > payload.length) {
+            throw new IllegalArgumentException("바이너리 이벤트가 잘렸습니다.");
+        }
+        byte[] bytes = Arrays.copyOfRange(payload, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    private byte next() {
+        if (position >= payload.length) {
+            throw new IllegalArgumentException("바이너리 이벤트가 잘렸습니다.");
+        }
+        return payload[position++];
+    }
+}
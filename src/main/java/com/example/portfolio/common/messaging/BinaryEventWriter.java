@@ -0,0 +1,80 @@
+package com.example.portfolio.common.messaging;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+
+/**
+ * 바이너리 이벤트 페이로드를 쓴다. 정수는 zigzag varint, 문자열/바이트는 길이 접두사로 기록해 필드 이름 없이 순서로만 구분한다.
+ * 페이로드는 {@link #MAGIC} 바이트와 스키마 버전으로 시작한다.
+ */
+public class BinaryEventWriter {
+
+    public static final int MAGIC = 0xEB;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+
+    public BinaryEventWriter(int version) {
+        out.write(MAGIC);
+        writeInt(version);
+    }
+
+    public BinaryEventWriter writeLong(long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+        return this;
+    }
+
+    public BinaryEventWriter writeInt(int value) {
+        return writeLong(value);
+    }
+
+    public BinaryEventWriter writeBoolean(boolean value) {
+        out.write(value ? 1 : 0);
+        return this;
+    }
+
+    /**
+     * null은 길이 -1로 기록한다.
+     */
+    public BinaryEventWriter writeString(String value) {
+        if (value == null) {
+            return writeInt(-1);
+        }
+        return writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public BinaryEventWriter writeDecimal(BigDecimal value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeInt(value.scale());
+            writeBytes(value.unscaledValue().toByteArray());
+        }
+        return this;
+    }
+
+    public BinaryEventWriter writeTimestamp(OffsetDateTime value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeLong(value.toEpochSecond());
+            writeInt(value.getNano());
+            writeInt(value.getOffset().getTotalSeconds());
+        }
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    private BinaryEventWriter writeBytes(byte[] bytes) {
+        writeInt(bytes.length);
+        out.write(bytes, 0, bytes.length);
+        return this;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.portfolio.common.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.kafka.common.TopicPartition;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 처리 지연과 lag을 보고 리스너 컨테이너를 멈추거나 동시성을 조정한다.
+ */
+@Component
+public class ConsumerBackpressureController {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerBackpressureController.class);
+    private static final long ASSIGNMENT_POLL_MS = 100;
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final ConsumerLagSampler lagSampler;
+    private final ConsumerBackpressureProperties properties;
+    private final LongAdder processedRecords = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+    private final Timer processingTimer;
+    private final Counter pauseCounter;
+    private final MultiGauge partitionLag;
+    private final AtomicLong totalLag = new AtomicLong();
+    private final AtomicInteger paused = new AtomicInteger();
+    private final AtomicInteger concurrency = new AtomicInteger();
+    private final AtomicBoolean resizing = new AtomicBoolean();
+    private final Executor resizeExecutor;
+    private long pausedUntil;
+    private int consecutivePauses;
+    private volatile long lastScaledAt;
+
+    public ConsumerBackpressureController(
+            KafkaListenerEndpointRegistry listenerRegistry,
+            ConsumerLagSampler lagSampler,
+            ConsumerBackpressureProperties properties,
+            MeterRegistry meterRegistry) {
+        this(listenerRegistry, lagSampler, properties, meterRegistry, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "consumer-resize");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    ConsumerBackpressureController(
+            KafkaListenerEndpointRegistry listenerRegistry,
+            ConsumerLagSampler lagSampler,
+            ConsumerBackpressureProperties properties,
+            MeterRegistry meterRegistry,
+            Executor resizeExecutor) {
+        this.resizeExecutor = resizeExecutor;
+        this.listenerRegistry = listenerRegistry;
+        this.lagSampler = lagSampler;
+        this.properties = properties;
+        String group = properties.groupId();
+        this.processingTimer = Timer.builder("kafka.consumer.processing").tag("group", group).register(meterRegistry);
+        this.pauseCounter = Counter.builder("kafka.consumer.backpressure.pauses").tag("group", group).register(meterRegistry);
+        this.partitionLag = MultiGauge.builder("kafka.consumer.lag").register(meterRegistry);
+        Gauge.builder("kafka.consumer.lag.total", totalLag, AtomicLong::get).tag("group", group).register(meterRegistry);
+        Gauge.builder("kafka.consumer.backpressure.paused", paused, AtomicInteger::get).tag("group", group).register(meterRegistry);
+        Gauge.builder("kafka.consumer.concurrency", concurrency, AtomicInteger::get).tag("group", group).register(meterRegistry);
+    }
+
+    /**
+     * 리스너 한 번 호출의 처리 시간을 기록한다. 다른 그룹의 호출은 무시한다.
+     */
+    public void recordProcessing(String groupId, int records, long nanos) {
+        if (!properties.groupId().equals(groupId) || records <= 0) {
+            return;
+        }
+        processedRecords.add(records);
+        processingNanos.add(nanos);
+        processingTimer.record(Duration.ofNanos(nanos));
+    }
+
+    @Scheduled(fixedDelayString = "${app.kafka.consumer.backpressure.interval-ms:5000}")
+    public void control() {
+        try {
+            evaluate(System.currentTimeMillis());
+        } catch (RuntimeException ex) {
+            log.warn("컨슈머 백프레셔 평가 실패: group={}", properties.groupId(), ex);
+        }
+    }
+
+    synchronized void evaluate(long now) {
+        long records = processedRecords.sumThenReset();
+        long nanos = processingNanos.sumThenReset();
+        Optional<Map<TopicPartition, Long>> lag = sampleLag();
+
+        List<ConcurrentMessageListenerContainer<?, ?>> containers = runningContainers();
+        if (!properties.enabled() || resizing.get() || containers.isEmpty()) {
+            return;
+        }
+        int current = containers.get(0).getConcurrency();
+        concurrency.set(current);
+
+        if (paused.get() == 1) {
+            if (now >= pausedUntil) {
+                containers.forEach(ConcurrentMessageListenerContainer::resume);
+                paused.set(0);
+                log.info("컨슈머 재개: group={}", properties.groupId());
+            }
+            return;
+        }
+
+        double latencyMs = records == 0 ? 0 : nanos / 1_000_000.0 / records;
+        if (latencyMs > properties.pauseLatencyMs()) {
+            consecutivePauses = Math.min(consecutivePauses + 1, 16);
+            long pauseMs = Math.min(properties.maxPauseMs(), properties.pauseMs() << (consecutivePauses - 1));
+            containers.forEach(ConcurrentMessageListenerContainer::pause);
+            paused.set(1);
+            pausedUntil = now + pauseMs;
+            pauseCounter.increment();
+            log.warn("처리 지연으로 컨슈머 일시 중지: group={}, latencyMs={}, pauseMs={}",
+                    properties.groupId(), String.format("%.1f", latencyMs), pauseMs);
+            return;
+        }
+        if (latencyMs <= properties.scaleUpLatencyMs()) {
+            consecutivePauses = 0;
+        }
+        // 커밋 이력이 없거나 조회에 실패해 lag을 모르면 유휴로 보고 줄이지 않는다.
+        if (lag.isEmpty() || lag.get().isEmpty() || now - lastScaledAt < properties.scaleCooldownMs()) {
+            return;
+        }
+        int ceiling = Math.min(properties.maxConcurrency(), lag.get().size());
+        if (totalLag.get() > properties.scaleUpLag() && latencyMs <= properties.scaleUpLatencyMs() && current < ceiling) {
+            resize(containers, current + 1, now);
+        } else if (totalLag.get() < properties.scaleDownLag() && current > properties.minConcurrency()) {
+            resize(containers, current - 1, now);
+        }
+    }
+
+    /**
+     * lag 조회가 실패하면 게이지는 직전 값을 유지하고 빈 값을 반환한다. 게이지가 0으로 떨어져 HPA가 축소하지 않게 하기 위해서다.
+     */
+    private Optional<Map<TopicPartition, Long>> sampleLag() {
+        try {
+            Map<TopicPartition, Long> lag = lagSampler.sample(properties.groupId());
+            publishLag(lag);
+            return Optional.of(lag);
+        } catch (RuntimeException ex) {
+            log.warn("컨슈머 lag 조회 실패, 이전 값을 유지합니다: group={}", properties.groupId(), ex);
+            return Optional.empty();
+        }
+    }
+
+    private void publishLag(Map<TopicPartition, Long> lag) {
+        String group = properties.groupId();
+        partitionLag.register(lag.entrySet().stream()
+                .<MultiGauge.Row<?>>map(entry -> MultiGauge.Row.of(
+                        Tags.of("group", group, "topic", entry.getKey().topic(),
+                                "partition", String.valueOf(entry.getKey().partition())),
+                        entry.getValue()))
+                .toList(), true);
+        totalLag.set(lag.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    /**
+     * 동시성은 컨테이너가 시작될 때만 반영되므로 멈췄다가 다시 시작한다. 이때 그룹 리밸런스가 한 번 일어난다.
+     * stop은 처리 중인 배치가 끝날 때까지 막히므로 스케줄러 스레드가 아닌 전용 스레드에서 돌리고,
+     * 쿨다운은 파티션이 다시 할당된 시점부터 센다.
+     */
+    private void resize(List<ConcurrentMessageListenerContainer<?, ?>> containers, int target, long now) {
+        int previous = concurrency.get();
+        resizing.set(true);
+        lastScaledAt = now;
+        resizeExecutor.execute(() -> {
+            long startedAt = System.nanoTime();
+            try {
+                for (ConcurrentMessageListenerContainer<?, ?> container : containers) {
+                    container.stop();
+                    container.setConcurrency(target);
+                    container.start();
+                }
+                awaitAssignment(containers);
+                concurrency.set(target);
+                log.info("컨슈머 동시성 조정: group={}, {} -> {}, lag={}",
+                        properties.groupId(), previous, target, totalLag.get());
+            } catch (RuntimeException ex) {
+                log.warn("컨슈머 동시성 조정 실패: group={}, target={}", properties.groupId(), target, ex);
+            } finally {
+                lastScaledAt = now + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                resizing.set(false);
+            }
+        });
+    }
+
+    /**
+     * 재시작한 컨테이너가 파티션을 다시 받을 때까지, 최대 scaleCooldownMs 동안 기다린다.
+     */
+    private void awaitAssignment(List<ConcurrentMessageListenerContainer<?, ?>> containers) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.scaleCooldownMs());
+        while (containers.stream().anyMatch(container -> container.getAssignedPartitions().isEmpty())
+                && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(ASSIGNMENT_POLL_MS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (resizeExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private List<ConcurrentMessageListenerContainer<?, ?>> runningContainers() {
+        return listenerRegistry.getListenerContainers().stream()
+                .filter(ConcurrentMessageListenerContainer.class::isInstance)
+                .<ConcurrentMessageListenerContainer<?, ?>>map(container -> (ConcurrentMessageListenerContainer<?, ?>) container)
+                .filter(container -> container.isRunning() && properties.groupId().equals(container.getGroupId()))
+                .toList();
+    }
+}
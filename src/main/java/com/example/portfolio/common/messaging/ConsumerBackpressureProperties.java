@@ -0,0 +1,35 @@
+package com.example.portfolio.common.messaging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 컨슈머 백프레셔 설정이다. 레코드당 처리 지연이 pauseLatencyMs를 넘으면 파티션을 멈추고,
+ * 지연이 scaleUpLatencyMs 이하인데 lag이 scaleUpLag을 넘으면 리스너 동시성을 maxConcurrency까지 한 단계씩 올린다.
+ */
+@ConfigurationProperties(prefix = "app.kafka.consumer.backpressure")
+public record ConsumerBackpressureProperties(
+        boolean enabled,
+        String groupId,
+        long pauseLatencyMs,
+        long scaleUpLatencyMs,
+        long pauseMs,
+        long maxPauseMs,
+        long scaleUpLag,
+        long scaleDownLag,
+        int minConcurrency,
+        int maxConcurrency,
+        long scaleCooldownMs) {
+
+    public ConsumerBackpressureProperties {
+        groupId = groupId != null && !groupId.isBlank() ? groupId : "notification-consumer";
+        pauseLatencyMs = pauseLatencyMs > 0 ? pauseLatencyMs : 200;
+        scaleUpLatencyMs = scaleUpLatencyMs > 0 ? scaleUpLatencyMs : 50;
+        pauseMs = pauseMs > 0 ? pauseMs : 5_000;
+        maxPauseMs = maxPauseMs > 0 ? maxPauseMs : 60_000;
+        scaleUpLag = scaleUpLag > 0 ? scaleUpLag : 10_000;
+        scaleDownLag = scaleDownLag > 0 ? scaleDownLag : 100;
+        minConcurrency = minConcurrency > 0 ? minConcurrency : 1;
+        maxConcurrency = Math.max(minConcurrency, maxConcurrency > 0 ? maxConcurrency : 6);
+        scaleCooldownMs = scaleCooldownMs > 0 ? scaleCooldownMs : 60_000;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.portfolio.common.messaging;
+
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ListOffsetsOptions;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * AdminClient로 컨슈머 그룹의 커밋 오프셋과 파티션 끝 오프셋을 조회해 파티션별 lag을 계산한다.
+ * 컨슈머는 read_committed로 읽으므로 끝 오프셋도 마지막 안정 오프셋(LSO) 기준이다. 커밋 이력이 없는 파티션은 제외된다.
+ */
+@Component
+public class ConsumerLagSampler {
+
+    private final String bootstrapServers;
+    private final long timeoutMs;
+    private AdminClient adminClient;
+
+    public ConsumerLagSampler(
+            @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+            @Value("${app.kafka.consumer.lag.timeout-ms:3000}") long timeoutMs) {
+        this.bootstrapServers = bootstrapServers;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public Map<TopicPartition, Long> sample(String groupId) {
+        try {
+            Map<TopicPartition, OffsetAndMetadata> committed = admin().listConsumerGroupOffsets(groupId)
+                    .partitionsToOffsetAndMetadata()
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
+            Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+            committed.forEach((partition, offset) -> {
+                if (offset != null) {
+                    request.put(partition, OffsetSpec.latest());
+                }
+            });
+            if (request.isEmpty()) {
+                return Map.of();
+            }
+            Map<TopicPartition, ListOffsetsResultInfo> ends = admin()
+                    .listOffsets(request, new ListOffsetsOptions(IsolationLevel.READ_COMMITTED))
+                    .all()
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
+            Map<TopicPartition, Long> lag = new HashMap<>();
+            ends.forEach((partition, end) ->
+                    lag.put(partition, Math.max(0, end.offset() - committed.get(partition).offset())));
+            return lag;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("컨슈머 lag 조회가 중단되었습니다: group=" + groupId, ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("컨슈머 lag 조회 실패: group=" + groupId, ex);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (adminClient != null) {
+            adminClient.close();
+            adminClient = null;
+        }
+    }
+
+    private synchronized AdminClient admin() {
+        if (adminClient == null) {
+            adminClient = AdminClient.create(Map.of(
+                    AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                    AdminClientConfig.CLIENT_ID_CONFIG, "portfolio-lag-sampler"));
+        }
+        return adminClient;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.portfolio.common.messaging;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+/**
+ * 리스너 호출 시간을 재서 {@link ConsumerBackpressureController}에 레코드 수와 함께 알린다.
+ * 인터셉터는 컨슈머 스레드에서 리스너 앞뒤로 호출되므로 시작 시각은 스레드 로컬에 둔다.
+ */
+public class ConsumerLatencyInterceptor<K, V> implements RecordInterceptor<K, V>, BatchInterceptor<K, V> {
+
+    private final ConsumerBackpressureController controller;
+    private final ThreadLocal<Long> startedAt = new ThreadLocal<>();
+
+    public ConsumerLatencyInterceptor(ConsumerBackpressureController controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public ConsumerRecord<K, V> intercept(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+        startedAt.set(System.nanoTime());
+        return record;
+    }
+
+    @Override
+    public ConsumerRecords<K, V> intercept(ConsumerRecords<K, V> records, Consumer<K, V> consumer) {
+        startedAt.set(System.nanoTime());
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+        finish(1, consumer);
+    }
+
+    @Override
+    public void failure(ConsumerRecord<K, V> record, Exception exception, Consumer<K, V> consumer) {
+        finish(1, consumer);
+    }
+
+    @Override
+    public void success(ConsumerRecords<K, V> records, Consumer<K, V> consumer) {
+        finish(records.count(), consumer);
+    }
+
+    @Override
+    public void failure(ConsumerRecords<K, V> records, Exception exception, Consumer<K, V> consumer) {
+        finish(records.count(), consumer);
+    }
+
+    private void finish(int count, Consumer<K, V> consumer) {
+        Long started = startedAt.get();
+        startedAt.remove();
+        if (started != null) {
+            controller.recordProcessing(consumer.groupMetadata().groupId(), count, System.nanoTime() - started);
+        }
+    }
+}
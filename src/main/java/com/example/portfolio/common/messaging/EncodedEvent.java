@@ -0,0 +1,7 @@
+package com.example.portfolio.common.messaging;
+
+/**
+ * Kafka로 보낼 값 바이트와 content-type 헤더 값이다.
+ */
+public record EncodedEvent(String contentType, byte[] payload) {
+}
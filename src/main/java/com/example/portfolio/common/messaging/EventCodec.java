@@ -0,0 +1,18 @@
+package com.example.portfolio.common.messaging;
+
+/**
+ * 이벤트 타입 하나를 압축 바이너리로 인코딩/디코딩한다. 페이로드 앞부분에 스키마 버전을 기록해 이전 버전도 읽을 수 있게 한다.
+ */
+public interface EventCodec<T> {
+
+    /**
+     * outbox의 event_type 값이다.
+     */
+    String eventType();
+
+    Class<T> eventClass();
+
+    byte[] encode(T event);
+
+    T decode(byte[] payload);
+}
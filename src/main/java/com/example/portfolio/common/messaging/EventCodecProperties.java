@@ -0,0 +1,16 @@
+package com.example.portfolio.common.messaging;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 스키마 레지스트리 파일 위치와 토픽별 인코딩 형식(json/binary)을 바인딩한다. 지정하지 않은 토픽은 json이다.
+ */
+@ConfigurationProperties(prefix = "app.kafka.codec")
+public record EventCodecProperties(String schemaLocation, Map<String, String> topics) {
+
+    public EventCodecProperties {
+        schemaLocation = schemaLocation != null && !schemaLocation.isBlank() ? schemaLocation : "classpath:event-schemas.json";
+        topics = topics != null ? Map.copyOf(topics) : Map.of();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.portfolio.common.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+
+/**
+ * 토픽별로 설정된 형식에 맞춰 이벤트를 인코딩하고, content-type 헤더에 맞춰 디코딩한다.
+ * json 토픽은 outbox에 저장된 JSON 바이트를 그대로 보내고, binary 토픽은 이벤트 타입별 {@link EventCodec}으로 변환한다.
+ * 컨슈머는 헤더로 형식을 판별하므로 토픽 형식을 바꾸는 동안 두 형식이 섞여 있어도 읽을 수 있다.
+ */
+@Component
+public class EventCodecRegistry {
+
+    public static final String BINARY = "binary";
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, EventCodec<?>> codecsByType;
+    private final Map<Class<?>, EventCodec<?>> codecsByClass;
+    private final Map<String, String> topicFormats;
+
+    public EventCodecRegistry(ObjectMapper objectMapper, List<EventCodec<?>> codecs, EventCodecProperties properties) {
+        this.objectMapper = objectMapper;
+        this.codecsByType = codecs.stream().collect(Collectors.toMap(EventCodec::eventType, Function.identity()));
+        this.codecsByClass = codecs.stream().collect(Collectors.toMap(EventCodec::eventClass, Function.identity()));
+        this.topicFormats = properties.topics();
+    }
+
+    /**
+     * outbox에 저장된 JSON 페이로드를 토픽 형식으로 인코딩한다. 바이너리 코덱이 없는 이벤트 타입은 JSON 그대로 보낸다.
+     */
+    public EncodedEvent encode(String topic, String eventType, String jsonPayload) {
+        EventCodec<?> codec = codecsByType.get(eventType);
+        if (codec == null || !BINARY.equalsIgnoreCase(topicFormats.get(topic))) {
+            return new EncodedEvent(EventHeaders.APPLICATION_JSON, jsonPayload.getBytes(StandardCharsets.UTF_8));
+        }
+        return new EncodedEvent(EventHeaders.APPLICATION_BINARY, transcode(codec, jsonPayload));
+    }
+
+    /**
+     * content-type이 바이너리면 해당 클래스의 코덱으로, 그 외(헤더 없음 포함)는 JSON으로 한 번에 역직렬화한다.
+     */
+    public <T> T decode(String contentType, byte[] payload, Class<T> type) {
+        if (EventHeaders.APPLICATION_BINARY.equals(contentType)) {
+            EventCodec<?> codec = codecsByClass.get(type);
+            if (codec == null) {
+                throw new IllegalArgumentException("바이너리 코덱이 없는 이벤트입니다: " + type.getSimpleName());
+            }
+            return type.cast(codec.decode(payload));
+        }
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("이벤트 역직렬화에 실패했습니다: " + type.getSimpleName(), ex);
+        }
+    }
+
+    private <T> byte[] transcode(EventCodec<T> codec, String jsonPayload) {
+        try {
+            return codec.encode(objectMapper.readValue(jsonPayload, codec.eventClass()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("이벤트 직렬화에 실패했습니다: " + codec.eventType(), ex);
+        }
+    }
+}
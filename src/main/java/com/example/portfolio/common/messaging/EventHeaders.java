@@ -0,0 +1,31 @@
+package com.example.portfolio.common.messaging;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * outbox에서 발행하는 Kafka 레코드의 헤더 이름과 값이다. content-type으로 JSON/바이너리 형식을 구분한다.
+ */
+public final class EventHeaders {
+
+    public static final String CONTENT_TYPE = "content-type";
+    public static final String EVENT_TYPE = "event-type";
+    public static final String APPLICATION_JSON = "application/json";
+    public static final String APPLICATION_BINARY = "application/vnd.portfolio.event+binary";
+
+    private EventHeaders() {
+    }
+
+    public static byte[] value(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 레코드의 content-type 헤더 값이다. 헤더가 없는 이전 레코드는 JSON으로 본다.
+     */
+    public static String contentType(Headers headers) {
+        Header header = headers.lastHeader(CONTENT_TYPE);
+        return header == null ? APPLICATION_JSON : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.portfolio.common.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이벤트 타입별 바이너리 스키마 버전과 필드 배치를 파일에서 읽어 두는 프로세스 내 스키마 레지스트리다.
+ * 코덱은 기동 시 자신이 쓰는 버전의 필드 배치가 파일과 같은지 확인하고, 디코딩 시 파일에 등록된 버전만 받아들인다.
+ */
+@Component
+public class EventSchemaRegistry {
+
+    private final Map<String, Subject> subjects = new HashMap<>();
+
+    public EventSchemaRegistry(ResourceLoader resourceLoader, ObjectMapper objectMapper, EventCodecProperties properties) {
+        try (InputStream in = resourceLoader.getResource(properties.schemaLocation()).getInputStream()) {
+            JsonNode root = objectMapper.readTree(in);
+            root.fields().forEachRemaining(subject -> {
+                Map<Integer, List<String>> versions = new HashMap<>();
+                subject.getValue().path("versions").fields().forEachRemaining(version -> {
+                    List<String> fields = new ArrayList<>();
+                    version.getValue().forEach(field -> fields.add(field.asText()));
+                    versions.put(Integer.parseInt(version.getKey()), List.copyOf(fields));
+                });
+                subjects.put(subject.getKey(), new Subject(subject.getValue().path("latest").asInt(), versions));
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException("이벤트 스키마 파일을 읽을 수 없습니다: " + properties.schemaLocation(), ex);
+        }
+    }
+
+    public int latestVersion(String eventType) {
+        return subject(eventType).latest();
+    }
+
+    public boolean isKnown(String eventType, int version) {
+        return subjects.containsKey(eventType) && subject(eventType).versions().containsKey(version);
+    }
+
+    /**
+     * 코덱이 쓰는 버전이 최신이고 필드 배치가 파일과 같은지 확인한다. 코드와 스키마 파일이 어긋나면 기동을 막는다.
+     */
+    public void requireLatest(String eventType, int version, List<String> fields) {
+        Subject subject = subject(eventType);
+        if (subject.latest() != version || !fields.equals(subject.versions().get(version))) {
+            throw new IllegalStateException("이벤트 스키마가 등록된 최신 버전과 다릅니다: type=" + eventType + ", version=" + version);
+        }
+    }
+
+    private Subject subject(String eventType) {
+        Subject subject = subjects.get(eventType);
+        if (subject == null) {
+            throw new IllegalStateException("등록되지 않은 이벤트 타입입니다: " + eventType);
+        }
+        return subject;
+    }
+
+    private record Subject(int latest, Map<Integer, List<String>> versions) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.portfolio.common.messaging;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배치 리스너가 받은 레코드를 (파티션, 키) 단위로 묶어 제한된 작업 스레드 풀에서 병렬 처리한다.
+ * 같은 키의 레코드는 한 작업 안에서 오프셋 순서대로 처리되고, 배치의 모든 작업이 끝나야 반환하므로 오프셋은 앞선 레코드가 모두 끝난 뒤에 커밋된다.
+ * 느린 레코드는 같은 키의 뒤 레코드만 기다리게 하고 다른 키는 계속 진행한다.
+ * 실패하면 같은 키의 뒤 레코드는 처리하지 않고, 실패한 레코드 중 가장 앞선 위치를 {@link BatchListenerFailedException}으로 알린다.
+ * 그 뒤에 이미 처리된 다른 키의 레코드는 재전달되므로 핸들러는 멱등이어야 한다.
+ */
+@Component
+public class KeyOrderedRecordProcessor {
+
+    private final ThreadPoolExecutor executor;
+    private final DistributionSummary keyGroups;
+
+    public KeyOrderedRecordProcessor(
+            MeterRegistry meterRegistry,
+            @Value("${app.kafka.consumer.parallel.workers:0}") int workers,
+            @Value("${app.kafka.consumer.parallel.queue-capacity:1000}") int queueCapacity) {
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors() * 2;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "kafka-key-worker-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.keyGroups = DistributionSummary.builder("kafka.consumer.parallel.key-groups").register(meterRegistry);
+    }
+
+    public <K, V> void process(List<ConsumerRecord<K, V>> records, Consumer<ConsumerRecord<K, V>> handler) {
+        Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<K, V> record = records.get(i);
+            Object groupKey = record.key() == null ? i : List.of(record.topic(), record.partition(), record.key());
+            groups.computeIfAbsent(groupKey, key -> new ArrayList<>()).add(i);
+        }
+        keyGroups.record(groups.size());
+        Map<Integer, RuntimeException> failures = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] tasks = groups.values().stream()
+                .map(indexes -> CompletableFuture.runAsync(() -> {
+                    for (int index : indexes) {
+                        try {
+                            handler.accept(records.get(index));
+                        } catch (RuntimeException ex) {
+                            failures.put(index, ex);
+                            return;
+                        }
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(tasks).join();
+        if (!failures.isEmpty()) {
+            int index = Collections.min(failures.keySet());
+            throw new BatchListenerFailedException("레코드 처리 실패: offset=" + records.get(index).offset(), failures.get(index), index);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
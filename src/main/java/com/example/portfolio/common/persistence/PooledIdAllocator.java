@@ -0,0 +1,67 @@
+package com.example.portfolio.common.persistence;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * id_sequences 테이블에서 {@link #ALLOCATION_SIZE}개씩 식별자 블록을 예약해 메모리에서 나눠준다.
+ * Hibernate pooled 옵티마이저와 같은 규칙(저장값이 블록의 상한)을 따르므로, 저장 전에 식별자가 필요한 엔티티에 사용한다.
+ */
+@Component
+public class PooledIdAllocator {
+
+    /**
+     * 엔티티의 {@code @TableGenerator}와 공유하는 블록 크기다. 바꾸면 id_sequences 시드도 함께 조정해야 한다.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+    public static final String SEQUENCE_TABLE = "id_sequences";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<String, IdBlock> blocks = new ConcurrentHashMap<>();
+
+    public PooledIdAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 시퀀스의 다음 식별자를 반환한다. 현재 블록을 다 쓰면 별도 트랜잭션에서 다음 블록을 예약한다.
+     */
+    public long next(String sequenceName) {
+        IdBlock block = blocks.computeIfAbsent(sequenceName, name -> new IdBlock());
+        synchronized (block) {
+            if (block.next > block.max) {
+                long hi = reserve(sequenceName);
+                block.next = hi - ALLOCATION_SIZE + 1;
+                block.max = hi;
+            }
+            return block.next++;
+        }
+    }
+
+    private long reserve(String sequenceName) {
+        Long hi = transactionTemplate.execute(status -> {
+            Long current = jdbcTemplate.queryForObject(
+                    "SELECT next_val FROM " + SEQUENCE_TABLE + " WHERE sequence_name = ? FOR UPDATE", Long.class, sequenceName);
+            jdbcTemplate.update(
+                    "UPDATE " + SEQUENCE_TABLE + " SET next_val = next_val + ? WHERE sequence_name = ?", ALLOCATION_SIZE, sequenceName);
+            return current;
+        });
+        if (hi == null) {
+            throw new IllegalStateException("식별자 시퀀스가 없습니다: " + sequenceName);
+        }
+        return hi;
+    }
+
+    private static final class IdBlock {
+        private long next = 1;
+        private long max = 0;
+    }
+}
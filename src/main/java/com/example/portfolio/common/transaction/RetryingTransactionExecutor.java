@@ -0,0 +1,92 @@
+package com.example.portfolio.common.transaction;
+
+import com.example.portfolio.common.exception.BusinessException;
+import com.example.portfolio.common.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 낙관적 락/잠금 획득 실패 시 트랜잭션 전체를 지터가 섞인 지수 백오프로 다시 실행한다.
+ * 연산별로 재시도 횟수, 재시도 후 성공, 포기 건수와 소요 시간을 Micrometer로 기록한다.
+ */
+@Component
+public class RetryingTransactionExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryingTransactionExecutor.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TransactionRetryProperties properties;
+
+    public RetryingTransactionExecutor(
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            TransactionRetryProperties properties) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * 새 트랜잭션에서 작업을 실행하고 동시성 충돌이면 예산 안에서 재실행한다.
+     * 이미 진행 중인 트랜잭션 안에서 호출되면 바깥 트랜잭션이 롤백 대상이 되므로 재시도하지 않는다.
+     */
+    public <T> T execute(String operation, TransactionCallback<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(action);
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int attempt = 1;
+        while (true) {
+            try {
+                T result = transactionTemplate.execute(action);
+                sample.stop(timer(operation, attempt == 1 ? "success" : "recovered"));
+                if (attempt > 1) {
+                    meterRegistry.counter("transaction.retry.recovered", "operation", operation).increment();
+                }
+                return result;
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= properties.maxAttempts()) {
+                    sample.stop(timer(operation, "exhausted"));
+                    meterRegistry.counter("transaction.retry.exhausted", "operation", operation).increment();
+                    log.warn("동시성 충돌 재시도 한도 초과: operation={}, attempts={}", operation, attempt, ex);
+                    throw new BusinessException(ErrorCode.CONFLICT_ERROR, "동시 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+                }
+                meterRegistry.counter("transaction.retry.attempts", "operation", operation).increment();
+                backoff(attempt);
+                attempt++;
+            } catch (RuntimeException ex) {
+                sample.stop(timer(operation, "failed"));
+                throw ex;
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        double ceiling = Math.min(properties.maxBackoffMs(),
+                properties.initialBackoffMs() * Math.pow(properties.multiplier(), attempt - 1));
+        long sleepMs = ThreadLocalRandom.current().nextLong((long) ceiling + 1);
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "재시도 대기 중 중단되었습니다.");
+        }
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("transaction.retry.duration")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.portfolio.common.transaction;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 동시성 충돌 재시도 예산과 지수 백오프 설정을 타입 세이프하게 바인딩한다.
+ */
+@ConfigurationProperties(prefix = "app.transaction.retry")
+public record TransactionRetryProperties(int maxAttempts, long initialBackoffMs, long maxBackoffMs, double multiplier) {
+
+    public TransactionRetryProperties {
+        maxAttempts = maxAttempts > 0 ? maxAttempts : 4;
+        initialBackoffMs = initialBackoffMs > 0 ? initialBackoffMs : 20;
+        maxBackoffMs = maxBackoffMs > 0 ? maxBackoffMs : 500;
+        multiplier = multiplier >= 1.0 ? multiplier : 2.0;
+    }
+}
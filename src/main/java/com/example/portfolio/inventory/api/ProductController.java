@@ -4,11 +4,14 @@ import com.example.portfolio.inventory.api.dto.AdminProductCreateRequest;
 import com.example.portfolio.inventory.api.dto.ProductListResponse;
 import com.example.portfolio.inventory.api.dto.ProductResponse;
 import com.example.portfolio.inventory.api.dto.StockAdjustRequest;
+import com.example.portfolio.inventory.api.dto.StockStripeRequest;
+import com.example.portfolio.inventory.api.dto.StockStripeResponse;
 import com.example.portfolio.inventory.application.AdjustStockCommand;
 import com.example.portfolio.inventory.application.CreateProductCommand;
 import com.example.portfolio.inventory.application.ProductApplicationService;
 import com.example.portfolio.inventory.application.ProductListView;
 import com.example.portfolio.inventory.application.ProductView;
+import com.example.portfolio.inventory.application.StockStripeLayout;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -17,6 +20,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -69,6 +73,27 @@ public class ProductController {
         return toResponse(view);
     }
 
+    @PutMapping("/admin/products/{productId}/stripes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public StockStripeResponse restripe(@PathVariable Long productId, @Valid @RequestBody StockStripeRequest request) {
+        return toResponse(productApplicationService.restripe(productId, request.stripeCount()));
+    }
+
+    @PostMapping("/admin/products/{productId}/stripes/rebalance")
+    @PreAuthorize("hasRole('ADMIN')")
+    public StockStripeResponse rebalanceStripes(@PathVariable Long productId) {
+        return toResponse(productApplicationService.rebalanceStripes(productId));
+    }
+
+    private StockStripeResponse toResponse(StockStripeLayout layout) {
+        return new StockStripeResponse(
+                layout.productId(),
+                layout.totalQuantity(),
+                layout.baseQuantity(),
+                layout.stripeQuantities().size(),
+                layout.stripeQuantities());
+    }
+
     private ProductResponse toResponse(ProductView view) {
         return new ProductResponse(view.id(), view.sku(), view.name(), view.description(), view.price(), view.quantity());
     }
@@ -0,0 +1,15 @@
+package com.example.portfolio.inventory.api.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * 상품 재고를 나눌 스트라이프 수를 전달하는 요청 DTO다. 0이면 스트라이핑을 해제한다.
+ */
+public record StockStripeRequest(
+        @NotNull(message = "스트라이프 수는 필수입니다.")
+        @Min(value = 0, message = "스트라이프 수는 0 이상이어야 합니다.")
+        @Max(value = 64, message = "스트라이프 수는 64 이하여야 합니다.")
+        Integer stripeCount) {
+}
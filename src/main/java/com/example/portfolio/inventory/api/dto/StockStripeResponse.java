@@ -0,0 +1,14 @@
+package com.example.portfolio.inventory.api.dto;
+
+import java.util.List;
+
+/**
+ * 상품의 기본 재고 행 수량과 스트라이프별 수량 응답이다.
+ */
+public record StockStripeResponse(
+        Long productId,
+        long quantity,
+        long baseQuantity,
+        int stripeCount,
+        List<Long> stripeQuantities) {
+}
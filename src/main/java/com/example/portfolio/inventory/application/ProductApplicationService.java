@@ -2,6 +2,7 @@ package com.example.portfolio.inventory.application;
 
 import com.example.portfolio.common.exception.BusinessException;
 import com.example.portfolio.common.exception.ErrorCode;
+import com.example.portfolio.common.transaction.RetryingTransactionExecutor;
 import com.example.portfolio.inventory.domain.Product;
 import com.example.portfolio.inventory.domain.Stock;
 import com.example.portfolio.inventory.infra.ProductCacheService;
@@ -16,6 +17,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -28,14 +30,26 @@ public class ProductApplicationService {
     private final ProductRepository productRepository;
     private final StockRepository stockRepository;
     private final ProductCacheService productCacheService;
+    private final StockPreReservationService stockPreReservationService;
+    private final StockStripingService stockStripingService;
+    private final StockLedgerService stockLedgerService;
+    private final RetryingTransactionExecutor transactionExecutor;
 
     public ProductApplicationService(
             ProductRepository productRepository,
             StockRepository stockRepository,
-            ProductCacheService productCacheService) {
+            ProductCacheService productCacheService,
+            StockPreReservationService stockPreReservationService,
+            StockStripingService stockStripingService,
+            StockLedgerService stockLedgerService,
+            RetryingTransactionExecutor transactionExecutor) {
         this.productRepository = productRepository;
         this.stockRepository = stockRepository;
         this.productCacheService = productCacheService;
+        this.stockPreReservationService = stockPreReservationService;
+        this.stockStripingService = stockStripingService;
+        this.stockLedgerService = stockLedgerService;
+        this.transactionExecutor = transactionExecutor;
     }
 
     /**
@@ -67,7 +81,9 @@ public class ProductApplicationService {
                             .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "상품을 찾을 수 없습니다."));
                     Stock stock = stockRepository.findById(productId)
                             .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "재고를 찾을 수 없습니다."));
-                    ProductView view = ProductView.from(product, stock);
+                    long striped = stockStripingService.stripedQuantities(List.of(productId)).getOrDefault(productId, 0L);
+                    long pending = stockLedgerService.pendingQuantities(List.of(productId)).getOrDefault(productId, 0L);
+                    ProductView view = ProductView.from(product, stock, striped + pending);
                     productCacheService.saveProduct(view);
                     return view;
                 });
@@ -89,15 +105,67 @@ public class ProductApplicationService {
     }
 
     /**
-     * 재고 증감을 적용하고 음수를 허용하지 않는다.
+     * 재고 증감을 적용하고 음수를 허용하지 않는다. 모든 증감은 재고 원장에 기록된다.
+     * 입고(양수)는 재고 행을 잠그지 않고 원장에만 적재해 컴팩션 때 반영하고, 출고(음수)는 미반영분을 먼저 합친 뒤 바로 적용한다.
+     * 스트라이핑된 상품은 총량 기준으로 증감한 뒤 스트라이프에 재분배하며, 충돌 시 트랜잭션 전체를 재시도한다.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProductView adjustStock(AdjustStockCommand command) {
-        Stock stock = stockRepository.findById(command.productId())
+        Long productId = command.productId();
+        long delta = command.quantityDelta();
+        ProductView adjusted = transactionExecutor.execute("inventory.adjust-stock", status -> {
+            if (delta > 0) {
+                Stock stock = findStock(productId);
+                stockLedgerService.recordRestock(productId, delta);
+                return refreshCaches(stock, stockStripingService.stripedQuantities(List.of(productId)).getOrDefault(productId, 0L));
+            }
+            stockLedgerService.compact(List.of(productId));
+            long striped = 0L;
+            if (!stockStripingService.stripesOf(List.of(productId)).isEmpty()) {
+                striped = stockStripingService.adjust(productId, delta).stripedQuantity();
+            } else {
+                findStock(productId).applyDelta(delta);
+            }
+            if (delta != 0) {
+                stockLedgerService.recordAppliedAdjustment(productId, delta);
+            }
+            return refreshCaches(findStock(productId), striped);
+        });
+        stockPreReservationService.applyAdjustment(productId, delta);
+        return adjusted;
+    }
+
+    /**
+     * 상품 재고를 지정한 수의 스트라이프로 나누고 총량을 균등 재분배한다. 0이면 스트라이핑을 해제한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StockStripeLayout restripe(Long productId, int stripeCount) {
+        return transactionExecutor.execute("inventory.restripe", status ->
+                refreshStriped(stockStripingService.restripe(productId, stripeCount)));
+    }
+
+    /**
+     * 스트라이프 수를 유지한 채 스트라이프 간 수량을 균등하게 맞춘다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StockStripeLayout rebalanceStripes(Long productId) {
+        return transactionExecutor.execute("inventory.rebalance-stripes", status ->
+                refreshStriped(stockStripingService.rebalance(productId)));
+    }
+
+    private StockStripeLayout refreshStriped(StockStripeLayout layout) {
+        refreshCaches(findStock(layout.productId()), layout.stripedQuantity());
+        return layout;
+    }
+
+    private Stock findStock(Long productId) {
+        return stockRepository.findById(productId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "재고를 찾을 수 없습니다."));
-        stock.applyDelta(command.quantityDelta());
-        Product product = stock.getProduct();
-        ProductView view = ProductView.from(product, stock);
+    }
+
+    private ProductView refreshCaches(Stock stock, long striped) {
+        long pending = stockLedgerService.pendingQuantities(List.of(stock.getProductId())).getOrDefault(stock.getProductId(), 0L);
+        ProductView view = ProductView.from(stock.getProduct(), stock, striped + pending);
         productCacheService.saveProduct(view);
         productCacheService.evictProductListCaches();
         return view;
@@ -110,8 +178,11 @@ public class ProductApplicationService {
         List<Long> ids = products.stream().map(Product::getId).toList();
         Map<Long, Stock> stockMap = stockRepository.findByProductIdIn(ids).stream()
                 .collect(Collectors.toMap(Stock::getProductId, Function.identity()));
+        Map<Long, Long> stripedMap = stockStripingService.stripedQuantities(ids);
+        Map<Long, Long> pendingMap = stockLedgerService.pendingQuantities(ids);
         return products.stream()
-                .map(product -> ProductView.from(product, stockMap.get(product.getId())))
+                .map(product -> ProductView.from(product, stockMap.get(product.getId()),
+                        stripedMap.getOrDefault(product.getId(), 0L) + pendingMap.getOrDefault(product.getId(), 0L)))
                 .toList();
     }
 }
@@ -17,7 +17,14 @@ public record ProductView(
         long quantity) implements Serializable {
 
     public static ProductView from(Product product, Stock stock) {
-        long qty = stock != null ? stock.getQuantity() : 0L;
+        return from(product, stock, 0L);
+    }
+
+    /**
+     * 기본 재고 행 수량에 스트라이프 합계와 원장의 미반영 입고분을 더한 수량을 노출한다.
+     */
+    public static ProductView from(Product product, Stock stock, long additionalQuantity) {
+        long qty = (stock != null ? stock.getQuantity() : 0L) + additionalQuantity;
         return new ProductView(product.getId(), product.getSku(), product.getName(), product.getDescription(), product.getPrice(), qty);
     }
 }
@@ -0,0 +1,79 @@
+package com.example.portfolio.inventory.application;
+
+import com.example.portfolio.inventory.domain.Stock;
+import com.example.portfolio.inventory.infra.RedisStockCounter;
+import com.example.portfolio.inventory.infra.StockRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 선예약 카운터를 stocks.quantity, 스트라이프 합계, 원장 미반영분의 합 기준으로 주기적으로 보정한다.
+ * DB를 읽기 전에 카운터 값을 먼저 읽어 두고 그 값 그대로일 때만 덮어쓰므로, 그 사이 들어온 선예약/반환은 지워지지 않는다.
+ * 진행 중인 주문의 선예약분은 잠시 카운터에 더해질 수 있지만, 그 경우에도 DB 조건부 차감이 초과 판매를 막는다.
+ */
+@Component
+public class StockCounterReconcileJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StockCounterReconcileJob.class);
+
+    private final RedisStockCounter redisStockCounter;
+    private final StockRepository stockRepository;
+    private final StockStripingService stockStripingService;
+    private final StockLedgerService stockLedgerService;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public StockCounterReconcileJob(
+            RedisStockCounter redisStockCounter,
+            StockRepository stockRepository,
+            StockStripingService stockStripingService,
+            StockLedgerService stockLedgerService,
+            @Value("${app.inventory.pre-reservation.enabled:false}") boolean enabled,
+            @Value("${app.inventory.pre-reservation.reconcile-chunk-size:500}") int chunkSize) {
+        this.redisStockCounter = redisStockCounter;
+        this.stockRepository = stockRepository;
+        this.stockStripingService = stockStripingService;
+        this.stockLedgerService = stockLedgerService;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.pre-reservation.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        List<Long> productIds = new ArrayList<>(redisStockCounter.trackedProductIds());
+        int repaired = 0;
+        for (int from = 0; from < productIds.size(); from += chunkSize) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + chunkSize, productIds.size()));
+            Map<Long, Long> counters = redisStockCounter.findAll(chunk);
+            List<Stock> stocks = stockRepository.findByProductIdIn(chunk);
+            Map<Long, Long> striped = stockStripingService.stripedQuantities(chunk);
+            Map<Long, Long> pending = stockLedgerService.pendingQuantities(chunk);
+            for (Stock stock : stocks) {
+                long expected = stock.getQuantity()
+                        + striped.getOrDefault(stock.getProductId(), 0L)
+                        + pending.getOrDefault(stock.getProductId(), 0L);
+                Long counter = counters.get(stock.getProductId());
+                if (counter != null && counter != expected
+                        && redisStockCounter.compareAndSet(stock.getProductId(), counter, expected)) {
+                    repaired++;
+                }
+            }
+            Set<Long> existing = stocks.stream().map(Stock::getProductId).collect(Collectors.toSet());
+            chunk.stream().filter(id -> !existing.contains(id)).forEach(redisStockCounter::evict);
+        }
+        if (repaired > 0) {
+            log.info("Redis 재고 카운터 보정 완료: repaired={}, tracked={}", repaired, productIds.size());
+        }
+    }
+}
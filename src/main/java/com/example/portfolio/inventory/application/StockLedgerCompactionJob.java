@@ -0,0 +1,58 @@
+package com.example.portfolio.inventory.application;
+
+import com.example.portfolio.common.transaction.RetryingTransactionExecutor;
+import com.example.portfolio.inventory.infra.StockMovementRepository;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 원장의 미반영 변동을 주기적으로 스냅샷에 합친다. 상품 묶음마다 짧은 트랜잭션으로 커밋한다.
+ */
+@Component
+public class StockLedgerCompactionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedgerCompactionJob.class);
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockLedgerService stockLedgerService;
+    private final RetryingTransactionExecutor transactionExecutor;
+    private final int chunkSize;
+
+    public StockLedgerCompactionJob(
+            StockMovementRepository stockMovementRepository,
+            StockLedgerService stockLedgerService,
+            RetryingTransactionExecutor transactionExecutor,
+            @Value("${app.inventory.ledger.compaction-chunk-size:100}") int chunkSize) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.stockLedgerService = stockLedgerService;
+        this.transactionExecutor = transactionExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.ledger.compaction-interval-ms:1000}")
+    public void compact() {
+        int products = 0;
+        long quantity = 0;
+        while (true) {
+            List<Long> productIds = stockMovementRepository.findPendingProductIds(PageRequest.of(0, chunkSize));
+            if (productIds.isEmpty()) {
+                break;
+            }
+            Map<Long, Long> folded = transactionExecutor.execute("inventory.ledger-compaction", status -> stockLedgerService.compact(productIds));
+            products += folded.size();
+            quantity += folded.values().stream().mapToLong(Long::longValue).sum();
+            if (productIds.size() < chunkSize) {
+                break;
+            }
+        }
+        if (products > 0) {
+            log.info("재고 원장 컴팩션 완료: products={}, quantity={}", products, quantity);
+        }
+    }
+}
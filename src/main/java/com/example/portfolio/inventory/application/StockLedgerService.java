@@ -0,0 +1,149 @@
+package com.example.portfolio.inventory.application;
+
+import com.example.portfolio.inventory.domain.Stock;
+import com.example.portfolio.inventory.domain.StockMovement;
+import com.example.portfolio.inventory.domain.StockMovementReason;
+import com.example.portfolio.inventory.infra.StockMovementRepository;
+import com.example.portfolio.inventory.infra.StockMovementRepository.ProductDelta;
+import com.example.portfolio.inventory.infra.StockRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 모든 재고 증감을 stock_movements 원장에 추가 전용으로 기록한다.
+ * 주문 차감과 관리자 출고는 스냅샷에 바로 적용된 뒤 APPLIED로 남고, 취소와 관리자 입고는 재고 행을 잠그지 않고
+ * PENDING으로 적재된 뒤 컴팩션 때 스냅샷(stocks 또는 stock_stripes)에 합쳐진다.
+ */
+@Service
+public class StockLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedgerService.class);
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockRepository stockRepository;
+    private final StockStripingService stockStripingService;
+    private final TransactionTemplate newTransaction;
+
+    public StockLedgerService(
+            StockMovementRepository stockMovementRepository,
+            StockRepository stockRepository,
+            StockStripingService stockStripingService,
+            PlatformTransactionManager transactionManager) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.stockRepository = stockRepository;
+        this.stockStripingService = stockStripingService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 주문으로 이미 차감된 수량을 감사 기록으로 남긴다.
+     */
+    @Transactional
+    public void recordOrder(Long orderId, Map<Long, Long> demand) {
+        stockMovementRepository.saveAll(demand.entrySet().stream()
+                .map(line -> StockMovement.applied(line.getKey(), -line.getValue(), StockMovementReason.ORDER, orderId.toString()))
+                .toList());
+    }
+
+    /**
+     * 취소된 주문 수량을 미반영 입고로 적재한다.
+     */
+    @Transactional
+    public void recordCancellation(Long orderId, Map<Long, Long> quantities) {
+        stockMovementRepository.saveAll(quantities.entrySet().stream()
+                .map(line -> StockMovement.pending(line.getKey(), line.getValue(), StockMovementReason.CANCELLATION, orderId.toString()))
+                .toList());
+    }
+
+    /**
+     * 관리자 입고는 미반영으로 적재한다.
+     */
+    @Transactional
+    public void recordRestock(Long productId, long quantity) {
+        stockMovementRepository.save(StockMovement.pending(productId, quantity, StockMovementReason.ADJUSTMENT, null));
+    }
+
+    /**
+     * 스냅샷에 이미 적용한 관리자 조정분을 기록한다.
+     */
+    @Transactional
+    public void recordAppliedAdjustment(Long productId, long delta) {
+        stockMovementRepository.save(StockMovement.applied(productId, delta, StockMovementReason.ADJUSTMENT, null));
+    }
+
+    /**
+     * 상품별 미반영 변동 합계다. 스냅샷 수량과 더하면 현재 가용 수량이 된다.
+     */
+    @Transactional
+    public Map<Long, Long> pendingQuantities(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return stockMovementRepository.sumPending(productIds).stream()
+                .collect(Collectors.toMap(ProductDelta::getProductId, ProductDelta::getDelta));
+    }
+
+    /**
+     * 미반영 변동을 스냅샷에 합치고 APPLIED로 표시한 뒤, 상품별로 합친 수량을 반환한다.
+     * 재고 행(상품 ID 순) → 원장 → 스트라이프 순으로 잠그므로, 다른 재고/스트라이프 잠금을 쥐기 전에 트랜잭션의 첫 잠금으로만 호출한다.
+     * 주문 차감처럼 이미 잠금을 쥔 트랜잭션에서는 {@link #compactAfterCompletion}을 쓴다.
+     */
+    @Transactional
+    public Map<Long, Long> compact(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Stock> stocks = stockRepository.findAllForUpdate(productIds).stream()
+                .collect(Collectors.toMap(Stock::getProductId, Function.identity()));
+        List<StockMovement> pending = stockMovementRepository.findPendingForUpdate(productIds);
+        Map<Long, Long> folded = pending.stream()
+                .collect(Collectors.groupingBy(StockMovement::getProductId, TreeMap::new, Collectors.summingLong(StockMovement::getDelta)));
+        folded.forEach((productId, quantity) -> {
+            if (!stockStripingService.increment(productId, quantity)) {
+                stocks.get(productId).applyDelta(quantity);
+            }
+        });
+        pending.forEach(StockMovement::markApplied);
+        return folded;
+    }
+
+    /**
+     * 호출 측 트랜잭션이 끝나 잠금이 모두 풀린 뒤 새 트랜잭션에서 컴팩션한다. 트랜잭션 밖에서 호출되면 바로 실행한다.
+     * 실패하면 주기 컴팩션 작업에 맡긴다.
+     */
+    public void compactAfterCompletion(Collection<Long> productIds) {
+        List<Long> ids = List.copyOf(productIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            compactInNewTransaction(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                compactInNewTransaction(ids);
+            }
+        });
+    }
+
+    private void compactInNewTransaction(List<Long> productIds) {
+        try {
+            newTransaction.executeWithoutResult(status -> compact(productIds));
+        } catch (RuntimeException ex) {
+            log.warn("재고 원장 컴팩션 실패, 주기 작업에서 다시 반영합니다: productIds={}", productIds, ex);
+        }
+    }
+}
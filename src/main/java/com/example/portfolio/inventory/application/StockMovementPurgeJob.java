@@ -0,0 +1,46 @@
+package com.example.portfolio.inventory.application;
+
+import com.example.portfolio.inventory.infra.StockMovementRepository;
+import java.time.OffsetDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스냅샷에 반영된 지 보존 기간이 지난 재고 원장 행을 applied_at 범위 삭제로 청크 단위 정리한다.
+ * PENDING 행은 건드리지 않으므로 조회 수량(스냅샷 + 미반영분)은 바뀌지 않는다.
+ */
+@Component
+public class StockMovementPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StockMovementPurgeJob.class);
+
+    private final StockMovementRepository stockMovementRepository;
+    private final int retentionDays;
+    private final int chunkSize;
+
+    public StockMovementPurgeJob(
+            StockMovementRepository stockMovementRepository,
+            @Value("${app.inventory.ledger.retention-days:30}") int retentionDays,
+            @Value("${app.inventory.ledger.purge-chunk-size:1000}") int chunkSize) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.inventory.ledger.purge-cron:0 */10 * * * *}")
+    public void purgeApplied() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minusDays(retentionDays);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = stockMovementRepository.deleteAppliedBefore(cutoff, chunkSize);
+            purged += deleted;
+        } while (deleted == chunkSize);
+        if (purged > 0) {
+            log.info("반영 완료 재고 원장 정리 완료: count={}, before={}", purged, cutoff);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.portfolio.inventory.application;
+
+import com.example.portfolio.common.exception.BusinessException;
+import com.example.portfolio.common.exception.ErrorCode;
+import com.example.portfolio.inventory.domain.Stock;
+import com.example.portfolio.inventory.infra.RedisStockCounter;
+import com.example.portfolio.inventory.infra.StockRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 주문 트랜잭션을 열기 전에 Redis 카운터로 재고를 선예약해 품절 요청을 DB까지 보내지 않는다.
+ * DB 조건부 차감이 최종 판정이며, Redis 장애 시에는 선예약 없이 DB 경로로 그대로 진행한다.
+ */
+@Service
+public class StockPreReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockPreReservationService.class);
+
+    private final RedisStockCounter redisStockCounter;
+    private final StockRepository stockRepository;
+    private final StockStripingService stockStripingService;
+    private final StockLedgerService stockLedgerService;
+    private final boolean enabled;
+
+    public StockPreReservationService(
+            RedisStockCounter redisStockCounter,
+            StockRepository stockRepository,
+            StockStripingService stockStripingService,
+            StockLedgerService stockLedgerService,
+            @Value("${app.inventory.pre-reservation.enabled:false}") boolean enabled) {
+        this.redisStockCounter = redisStockCounter;
+        this.stockRepository = stockRepository;
+        this.stockStripingService = stockStripingService;
+        this.stockLedgerService = stockLedgerService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 요청 수량 전체를 원자적으로 선예약한다. 실제로 선예약했을 때만 true를 반환하며, 그 경우에만 {@link #release}를 호출해야 한다.
+     */
+    public boolean reserve(Map<Long, Long> demand) {
+        if (!enabled || demand.isEmpty()) {
+            return false;
+        }
+        List<Long> productIds = new ArrayList<>(new TreeMap<>(demand).keySet());
+        List<Long> quantities = productIds.stream().map(demand::get).toList();
+        try {
+            // 미적재 키마다 한 번씩 DB에서 채운 뒤 다시 시도한다.
+            for (int attempt = 0; attempt <= productIds.size(); attempt++) {
+                long result = redisStockCounter.decrementAll(productIds, quantities);
+                if (result == 0) {
+                    return true;
+                }
+                if (result > 0) {
+                    throw new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION,
+                            "재고가 부족합니다. productIds=" + List.of(productIds.get((int) result - 1)));
+                }
+                seed(productIds.get((int) -result - 1));
+            }
+            return false;
+        } catch (DataAccessException ex) {
+            log.warn("Redis 재고 선예약을 건너뜁니다: productIds={}", productIds, ex);
+            return false;
+        }
+    }
+
+    /**
+     * 주문이 실패하거나 롤백되었을 때 선예약한 수량을 되돌린다.
+     */
+    public void release(Map<Long, Long> demand) {
+        List<Long> productIds = new ArrayList<>(demand.keySet());
+        try {
+            redisStockCounter.incrementExisting(productIds, productIds.stream().map(demand::get).toList());
+        } catch (DataAccessException ex) {
+            log.warn("Redis 재고 선예약 반환 실패, 정합성 작업에서 보정됩니다: productIds={}", productIds, ex);
+        }
+    }
+
+    /**
+     * 관리자 재고 조정분을 카운터에 반영한다. 반영이 누락되더라도 정합성 작업이 DB 기준으로 보정한다.
+     */
+    public void applyAdjustment(Long productId, long delta) {
+        if (!enabled || delta == 0) {
+            return;
+        }
+        try {
+            redisStockCounter.incrementExisting(List.of(productId), List.of(delta));
+        } catch (DataAccessException ex) {
+            log.warn("Redis 재고 카운터 조정 실패: productId={}", productId, ex);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 증감분을 카운터에 반영한다. 롤백되면 반영하지 않는다.
+     */
+    public void applyAdjustmentsAfterCommit(Map<Long, Long> deltas) {
+        if (!enabled || deltas.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> pending = Map.copyOf(deltas);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.forEach(StockPreReservationService.this::applyAdjustment);
+                }
+            });
+        } else {
+            pending.forEach(this::applyAdjustment);
+        }
+    }
+
+    private void seed(Long productId) {
+        Stock stock = stockRepository.findById(productId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "재고를 찾을 수 없습니다."));
+        long striped = stockStripingService.stripedQuantities(List.of(productId)).getOrDefault(productId, 0L);
+        long pending = stockLedgerService.pendingQuantities(List.of(productId)).getOrDefault(productId, 0L);
+        redisStockCounter.seedIfAbsent(productId, stock.getQuantity() + striped + pending);
+    }
+}
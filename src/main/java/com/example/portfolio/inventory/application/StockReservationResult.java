@@ -0,0 +1,18 @@
+package com.example.portfolio.inventory.application;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재고 예약 결과로, 차감에 성공한 수량과 부족했던 라인을 함께 담는다.
+ */
+public record StockReservationResult(Map<Long, Long> reserved, List<StockShortage> shortages) {
+
+    public boolean isFullyReserved() {
+        return shortages.isEmpty();
+    }
+
+    public List<Long> shortProductIds() {
+        return shortages.stream().map(StockShortage::productId).toList();
+    }
+}
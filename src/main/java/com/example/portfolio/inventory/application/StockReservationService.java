@@ -0,0 +1,97 @@
+package com.example.portfolio.inventory.application;
+
+import com.example.portfolio.inventory.domain.Stock;
+import com.example.portfolio.inventory.infra.StockRepository;
+import com.example.portfolio.inventory.infra.StockStripeRepository.StripeQuantity;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 조건부 UPDATE 한 번으로 재고를 차감해 낙관적 락 충돌 없이 주문 수량을 예약한다.
+ * 행 잠금은 상품 ID 오름차순으로 획득하므로 여러 상품을 담은 주문끼리 교착 상태에 빠지지 않는다.
+ */
+@Service
+public class StockReservationService {
+
+    private final StockRepository stockRepository;
+    private final StockStripingService stockStripingService;
+    private final StockLedgerService stockLedgerService;
+
+    public StockReservationService(
+            StockRepository stockRepository,
+            StockStripingService stockStripingService,
+            StockLedgerService stockLedgerService) {
+        this.stockRepository = stockRepository;
+        this.stockStripingService = stockStripingService;
+        this.stockLedgerService = stockLedgerService;
+    }
+
+    /**
+     * 상품별 요청 수량을 차감하고 부족한 라인을 보고한다. 부족분이 있으면 호출 측 트랜잭션을 롤백해야 한다.
+     * 스트라이핑된 상품은 기본 재고 행 대신 스트라이프 하나를 골라 차감한다.
+     * 부족한 상품에 미반영 입고(취소/관리자 입고)가 있으면 다른 상품의 잠금을 쥔 채 재고 행을 잠그지 않도록 여기서 컴팩션하지 않는다.
+     * 트랜잭션이 끝난 뒤 새 트랜잭션에서 컴팩션하도록 예약하고 재시도 가능한 예외를 던져 주문 트랜잭션 전체를 다시 실행하게 한다.
+     */
+    @Transactional
+    public StockReservationResult reserve(Map<Long, Long> demand) {
+        Map<Long, Long> reserved = new LinkedHashMap<>();
+        List<StockShortage> shortages = new ArrayList<>();
+        Map<Long, List<StripeQuantity>> stripes = stockStripingService.stripesOf(demand.keySet());
+        for (Map.Entry<Long, Long> line : new TreeMap<>(demand).entrySet()) {
+            if (decrement(line.getKey(), line.getValue(), stripes.get(line.getKey()))) {
+                reserved.put(line.getKey(), line.getValue());
+            } else {
+                shortages.add(new StockShortage(line.getKey(), line.getValue()));
+            }
+        }
+        if (!shortages.isEmpty()) {
+            compactPendingBeforeRetry(shortages);
+        }
+        return new StockReservationResult(Collections.unmodifiableMap(reserved), List.copyOf(shortages));
+    }
+
+    /**
+     * 여러 주문을 배분할 수 있도록 상품별 가용 수량(재고 행 + 스트라이프 + 미반영 입고)을 잠금 없이 읽는다.
+     * 배분 계획용 추정치이며, 실제 차감 가능 여부는 이어지는 {@link #reserve}의 조건부 차감이 판정한다.
+     */
+    @Transactional
+    public Map<Long, Long> availableQuantities(Collection<Long> productIds) {
+        Map<Long, Long> available = stockRepository.findByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(Stock::getProductId, Stock::getQuantity));
+        stockStripingService.stripedQuantities(productIds)
+                .forEach((productId, quantity) -> available.merge(productId, quantity, Long::sum));
+        stockLedgerService.pendingQuantities(productIds)
+                .forEach((productId, quantity) -> available.merge(productId, quantity, Long::sum));
+        return available;
+    }
+
+    private void compactPendingBeforeRetry(List<StockShortage> shortages) {
+        List<Long> shortIds = shortages.stream().map(StockShortage::productId).toList();
+        List<Long> restocked = stockLedgerService.pendingQuantities(shortIds).entrySet().stream()
+                .filter(pending -> pending.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        if (restocked.isEmpty()) {
+            return;
+        }
+        stockLedgerService.compactAfterCompletion(restocked);
+        throw new ConcurrencyFailureException("미반영 입고를 반영한 뒤 다시 시도합니다. productIds=" + restocked);
+    }
+
+    private boolean decrement(Long productId, long quantity, List<StripeQuantity> stripes) {
+        if (stripes != null) {
+            return stockStripingService.decrement(productId, quantity, stripes);
+        }
+        return stockRepository.decrementIfAvailable(productId, quantity) == 1;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.portfolio.inventory.application;
+
+/**
+ * 조건부 차감에 실패한 상품과 요청 수량이다.
+ */
+public record StockShortage(Long productId, long requestedQuantity) {
+}
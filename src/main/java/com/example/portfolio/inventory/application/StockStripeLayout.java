@@ -0,0 +1,17 @@
+package com.example.portfolio.inventory.application;
+
+import java.util.List;
+
+/**
+ * 상품의 기본 재고 행 수량과 스트라이프별 수량이다. 스트라이프가 없으면 스트라이핑되지 않은 상품이다.
+ */
+public record StockStripeLayout(Long productId, long baseQuantity, List<Long> stripeQuantities) {
+
+    public long stripedQuantity() {
+        return stripeQuantities.stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long totalQuantity() {
+        return baseQuantity + stripedQuantity();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.portfolio.inventory.application;
+
+import com.example.portfolio.common.exception.BusinessException;
+import com.example.portfolio.common.exception.ErrorCode;
+import com.example.portfolio.inventory.domain.Stock;
+import com.example.portfolio.inventory.domain.StockStripe;
+import com.example.portfolio.inventory.infra.StockRepository;
+import com.example.portfolio.inventory.infra.StockStripeRepository;
+import com.example.portfolio.inventory.infra.StockStripeRepository.StripeQuantity;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 인기 상품 재고를 여러 스트라이프 행에 나눠 담고 차감/재분배한다.
+ * 스트라이핑된 상품의 수량은 {@code stocks.quantity}(기본 행)와 스트라이프 합계의 합이며, 재분배 시 기본 행은 0으로 비운다.
+ */
+@Service
+public class StockStripingService {
+
+    private final StockRepository stockRepository;
+    private final StockStripeRepository stockStripeRepository;
+    private final int maxStripes;
+
+    public StockStripingService(
+            StockRepository stockRepository,
+            StockStripeRepository stockStripeRepository,
+            @Value("${app.inventory.striping.max-stripes:64}") int maxStripes) {
+        this.stockRepository = stockRepository;
+        this.stockStripeRepository = stockStripeRepository;
+        this.maxStripes = maxStripes;
+    }
+
+    /**
+     * 잠금 없이 읽은 상품별 스트라이프 수량이다. 스트라이핑되지 않은 상품은 결과에 없다.
+     */
+    @Transactional
+    public Map<Long, List<StripeQuantity>> stripesOf(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return stockStripeRepository.findQuantities(productIds).stream()
+                .collect(Collectors.groupingBy(StripeQuantity::getProductId));
+    }
+
+    /**
+     * 상품별 스트라이프 합계다. 스트라이핑되지 않은 상품은 결과에 없다.
+     */
+    @Transactional
+    public Map<Long, Long> stripedQuantities(Collection<Long> productIds) {
+        return sum(productIds.isEmpty() ? List.of() : stockStripeRepository.findQuantities(productIds));
+    }
+
+    /**
+     * 잔량이 충분한 스트라이프 하나를 번호 순으로 골라 차감하고, 없으면 다른 트랜잭션이 잡지 않은 스트라이프들에서 나눠 차감한다.
+     * 두 단계 모두 잠금을 기다리지 않으므로 같은 상품을 주문하는 트랜잭션끼리 교착되지 않는다.
+     * 잡히지 않은 스트라이프로 모자라고 잡힌 스트라이프가 있으면 재시도 가능한 충돌로 알려 트랜잭션 전체를 다시 실행하게 한다.
+     */
+    @Transactional
+    public boolean decrement(Long productId, long quantity, List<StripeQuantity> snapshot) {
+        Optional<Integer> picked = stockStripeRepository.pickAvailableForUpdate(productId, quantity);
+        if (picked.isPresent()) {
+            stockStripeRepository.decrementIfAvailable(productId, picked.get(), quantity);
+            return true;
+        }
+        List<StripeQuantity> unclaimed = stockStripeRepository.lockUnclaimedQuantities(productId);
+        if (unclaimed.stream().mapToLong(StripeQuantity::getQuantity).sum() < quantity) {
+            if (unclaimed.size() < snapshot.size()) {
+                throw new CannotAcquireLockException("다른 주문이 사용 중인 스트라이프가 있습니다: productId=" + productId);
+            }
+            return false;
+        }
+        long remaining = quantity;
+        for (StripeQuantity stripe : unclaimed) {
+            long take = Math.min(stripe.getQuantity(), remaining);
+            if (take > 0) {
+                stockStripeRepository.decrementIfAvailable(productId, stripe.getStripeNo(), take);
+                remaining -= take;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 입고분을 스트라이프에 균등하게 더한다. 스트라이핑되지 않은 상품이면 false를 반환한다.
+     */
+    @Transactional
+    public boolean increment(Long productId, long quantity) {
+        List<StripeQuantity> stripes = stockStripeRepository.findQuantities(List.of(productId));
+        if (stripes.isEmpty()) {
+            return false;
+        }
+        int stripeCount = stripes.size();
+        for (int i = 0; i < stripeCount; i++) {
+            long share = quantity / stripeCount + (i < quantity % stripeCount ? 1 : 0);
+            if (share > 0) {
+                stockStripeRepository.increment(productId, stripes.get(i).getStripeNo(), share);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 스트라이프 수를 바꾸고 총량을 균등 재분배한다. 0이면 전량을 기본 재고 행으로 되돌린다.
+     */
+    @Transactional
+    public StockStripeLayout restripe(Long productId, int stripeCount) {
+        if (stripeCount < 0 || stripeCount > maxStripes) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "스트라이프 수는 0 이상 " + maxStripes + " 이하여야 합니다.");
+        }
+        Stock stock = lockStock(productId);
+        List<StockStripe> stripes = stockStripeRepository.findAllForUpdate(productId);
+        return redistribute(stock, stripes, totalOf(stock, stripes), stripeCount);
+    }
+
+    /**
+     * 현재 스트라이프 수를 유지한 채 마른 스트라이프가 없도록 총량을 균등 재분배한다.
+     */
+    @Transactional
+    public StockStripeLayout rebalance(Long productId) {
+        Stock stock = lockStock(productId);
+        List<StockStripe> stripes = stockStripeRepository.findAllForUpdate(productId);
+        return redistribute(stock, stripes, totalOf(stock, stripes), stripes.size());
+    }
+
+    /**
+     * 관리자 재고 증감을 총량 기준으로 적용하고 스트라이프에 균등 재분배한다.
+     */
+    @Transactional
+    public StockStripeLayout adjust(Long productId, long delta) {
+        Stock stock = lockStock(productId);
+        List<StockStripe> stripes = stockStripeRepository.findAllForUpdate(productId);
+        long total = totalOf(stock, stripes) + delta;
+        if (total < 0) {
+            throw new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION, "재고가 음수가 될 수 없습니다.");
+        }
+        return redistribute(stock, stripes, total, stripes.size());
+    }
+
+    private Stock lockStock(Long productId) {
+        return stockRepository.findAllForUpdate(List.of(productId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "재고를 찾을 수 없습니다."));
+    }
+
+    private StockStripeLayout redistribute(Stock stock, List<StockStripe> current, long total, int stripeCount) {
+        Map<Integer, StockStripe> byNo = current.stream()
+                .collect(Collectors.toMap(StockStripe::getStripeNo, Function.identity(), (a, b) -> a, TreeMap::new));
+        stock.applyDelta((stripeCount == 0 ? total : 0L) - stock.getQuantity());
+        List<Long> shares = new ArrayList<>();
+        for (int stripeNo = 0; stripeNo < stripeCount; stripeNo++) {
+            long share = total / stripeCount + (stripeNo < total % stripeCount ? 1 : 0);
+            StockStripe stripe = byNo.remove(stripeNo);
+            if (stripe == null) {
+                stockStripeRepository.save(StockStripe.of(stock.getProductId(), stripeNo, share));
+            } else {
+                stripe.assign(share);
+            }
+            shares.add(share);
+        }
+        stockStripeRepository.deleteAll(byNo.values());
+        return new StockStripeLayout(stock.getProductId(), stock.getQuantity(), List.copyOf(shares));
+    }
+
+    private long totalOf(Stock stock, List<StockStripe> stripes) {
+        return stock.getQuantity() + stripes.stream().mapToLong(StockStripe::getQuantity).sum();
+    }
+
+    private Map<Long, Long> sum(List<StripeQuantity> stripes) {
+        return stripes.stream()
+                .collect(Collectors.groupingBy(StripeQuantity::getProductId, Collectors.summingLong(StripeQuantity::getQuantity)));
+    }
+}
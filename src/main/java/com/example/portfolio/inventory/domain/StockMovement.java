@@ -0,0 +1,115 @@
+package com.example.portfolio.inventory.domain;
+
+import com.example.portfolio.common.persistence.PooledIdAllocator;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import java.time.OffsetDateTime;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * 재고 증감 한 건을 추가 전용으로 기록하는 원장 엔티티다.
+ * PENDING 변동은 아직 스냅샷(stocks/stock_stripes)에 반영되지 않았고, 컴팩션 시 APPLIED로 바뀐다.
+ */
+@Entity
+@Table(name = "stock_movements")
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "stock_movements_id")
+    @TableGenerator(name = "stock_movements_id", table = PooledIdAllocator.SEQUENCE_TABLE, pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "stock_movements", allocationSize = PooledIdAllocator.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private long delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private StockMovementReason reason;
+
+    @Column(length = 64)
+    private String referenceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private StockMovementStatus status;
+
+    @CreationTimestamp
+    private OffsetDateTime createdAt;
+
+    @Column
+    private OffsetDateTime appliedAt;
+
+    protected StockMovement() {
+    }
+
+    private StockMovement(Long productId, long delta, StockMovementReason reason, String referenceId, StockMovementStatus status) {
+        this.productId = productId;
+        this.delta = delta;
+        this.reason = reason;
+        this.referenceId = referenceId;
+        this.status = status;
+        this.appliedAt = status == StockMovementStatus.APPLIED ? OffsetDateTime.now() : null;
+    }
+
+    /**
+     * 스냅샷에 이미 반영된 변동을 감사 기록으로 남긴다.
+     */
+    public static StockMovement applied(Long productId, long delta, StockMovementReason reason, String referenceId) {
+        return new StockMovement(productId, delta, reason, referenceId, StockMovementStatus.APPLIED);
+    }
+
+    /**
+     * 컴팩션 때 스냅샷에 합쳐질 변동을 기록한다.
+     */
+    public static StockMovement pending(Long productId, long delta, StockMovementReason reason, String referenceId) {
+        return new StockMovement(productId, delta, reason, referenceId, StockMovementStatus.PENDING);
+    }
+
+    public void markApplied() {
+        this.status = StockMovementStatus.APPLIED;
+        this.appliedAt = OffsetDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public long getDelta() {
+        return delta;
+    }
+
+    public StockMovementReason getReason() {
+        return reason;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public StockMovementStatus getStatus() {
+        return status;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getAppliedAt() {
+        return appliedAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.portfolio.inventory.domain;
+
+/**
+ * 재고 변동이 발생한 원인이다.
+ */
+public enum StockMovementReason {
+    ORDER,
+    CANCELLATION,
+    ADJUSTMENT
+}
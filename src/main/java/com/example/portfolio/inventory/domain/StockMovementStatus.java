@@ -0,0 +1,9 @@
+package com.example.portfolio.inventory.domain;
+
+/**
+ * 재고 변동이 스냅샷 수량에 반영되었는지 여부다.
+ */
+public enum StockMovementStatus {
+    PENDING,
+    APPLIED
+}
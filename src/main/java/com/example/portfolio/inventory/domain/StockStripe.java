@@ -0,0 +1,102 @@
+package com.example.portfolio.inventory.domain;
+
+import com.example.portfolio.common.exception.BusinessException;
+import com.example.portfolio.common.exception.ErrorCode;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * 인기 상품의 재고를 나눠 담는 하위 버킷이다. 주문은 스트라이프 하나만 잠그므로 단일 행 경합을 분산한다.
+ */
+@Entity
+@Table(name = "stock_stripes")
+@IdClass(StockStripe.Key.class)
+public class StockStripe {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    @Column(name = "stripe_no")
+    private int stripeNo;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    protected StockStripe() {
+    }
+
+    private StockStripe(Long productId, int stripeNo, long quantity) {
+        this.productId = productId;
+        this.stripeNo = stripeNo;
+        this.quantity = quantity;
+    }
+
+    public static StockStripe of(Long productId, int stripeNo, long quantity) {
+        if (quantity < 0) {
+            throw new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION, "재고가 음수가 될 수 없습니다.");
+        }
+        return new StockStripe(productId, stripeNo, quantity);
+    }
+
+    /**
+     * 재분배 결과로 수량을 교체한다.
+     */
+    public void assign(long quantity) {
+        if (quantity < 0) {
+            throw new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION, "재고가 음수가 될 수 없습니다.");
+        }
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getStripeNo() {
+        return stripeNo;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * (상품 ID, 스트라이프 번호) 복합 키다.
+     */
+    public static class Key implements Serializable {
+
+        private Long productId;
+        private int stripeNo;
+
+        protected Key() {
+        }
+
+        public Key(Long productId, int stripeNo) {
+            this.productId = productId;
+            this.stripeNo = stripeNo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return stripeNo == key.stripeNo && Objects.equals(productId, key.productId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productId, stripeNo);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.portfolio.inventory.infra;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품별 선예약 카운터를 Redis에 보관하고 Lua 스크립트로 원자적으로 증감한다.
+ */
+@Component
+public class RedisStockCounter {
+
+    private static final String KEY_PREFIX = "stock:counter:";
+    private static final String TRACKED_IDS_KEY = "stock:counter:ids";
+
+    /**
+     * 모든 키의 잔량을 먼저 확인한 뒤에만 차감한다. 0: 성공, i: i번째 키 부족, -i: i번째 키 미적재.
+     */
+    private static final RedisScript<Long> DECREMENT_ALL_SCRIPT = RedisScript.of("""
+            for i = 1, #KEYS do
+              local current = redis.call('GET', KEYS[i])
+              if not current then
+                return -i
+              end
+              if tonumber(current) < tonumber(ARGV[i]) then
+                return i
+              end
+            end
+            for i = 1, #KEYS do
+              redis.call('DECRBY', KEYS[i], ARGV[i])
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * 키가 남아 있을 때만 되돌려 재적재 이전의 부분 값이 생기지 않도록 한다.
+     */
+    private static final RedisScript<Long> INCREMENT_EXISTING_SCRIPT = RedisScript.of("""
+            for i = 1, #KEYS do
+              if redis.call('EXISTS', KEYS[i]) == 1 then
+                redis.call('INCRBY', KEYS[i], ARGV[i])
+              end
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * 카운터가 읽어 둔 값 그대로일 때만 덮어쓴다. 1: 덮어씀, 0: 그 사이 값이 바뀌었거나 키가 없어 건너뜀.
+     */
+    private static final RedisScript<Long> COMPARE_AND_SET_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              redis.call('SET', KEYS[1], ARGV[2])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisStockCounter(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public long decrementAll(List<Long> productIds, List<Long> quantities) {
+        Long result = redisTemplate.execute(DECREMENT_ALL_SCRIPT, keys(productIds), args(quantities));
+        return result != null ? result : 0L;
+    }
+
+    public void incrementExisting(List<Long> productIds, List<Long> quantities) {
+        redisTemplate.execute(INCREMENT_EXISTING_SCRIPT, keys(productIds), args(quantities));
+    }
+
+    public void seedIfAbsent(Long productId, long quantity) {
+        redisTemplate.opsForValue().setIfAbsent(counterKey(productId), Long.toString(quantity));
+        redisTemplate.opsForSet().add(TRACKED_IDS_KEY, productId.toString());
+    }
+
+    /**
+     * 적재된 카운터 값을 한 번에 읽는다. 적재되지 않은 상품은 결과에 없다.
+     */
+    public Map<Long, Long> findAll(List<Long> productIds) {
+        List<String> values = redisTemplate.opsForValue().multiGet(keys(productIds));
+        Map<Long, Long> counters = new HashMap<>();
+        for (int i = 0; values != null && i < productIds.size(); i++) {
+            if (values.get(i) != null) {
+                counters.put(productIds.get(i), Long.valueOf(values.get(i)));
+            }
+        }
+        return counters;
+    }
+
+    public boolean compareAndSet(Long productId, long current, long quantity) {
+        Long result = redisTemplate.execute(COMPARE_AND_SET_SCRIPT, List.of(counterKey(productId)),
+                Long.toString(current), Long.toString(quantity));
+        return result != null && result == 1L;
+    }
+
+    public void evict(Long productId) {
+        redisTemplate.delete(counterKey(productId));
+        redisTemplate.opsForSet().remove(TRACKED_IDS_KEY, productId.toString());
+    }
+
+    public Set<Long> trackedProductIds() {
+        Set<String> members = redisTemplate.opsForSet().members(TRACKED_IDS_KEY);
+        if (members == null) {
+            return Set.of();
+        }
+        return members.stream().map(Long::valueOf).collect(Collectors.toSet());
+    }
+
+    private List<String> keys(List<Long> productIds) {
+        return productIds.stream().map(this::counterKey).toList();
+    }
+
+    private Object[] args(List<Long> quantities) {
+        return quantities.stream().map(String::valueOf).toArray();
+    }
+
+    private String counterKey(Long productId) {
+        return KEY_PREFIX + productId;
+    }
+}
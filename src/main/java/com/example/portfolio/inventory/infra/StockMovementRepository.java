@@ -0,0 +1,56 @@
+package com.example.portfolio.inventory.infra;
+
+import com.example.portfolio.inventory.domain.StockMovement;
+import jakarta.persistence.LockModeType;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 재고 변동 원장을 적재하고 미반영분을 조회하는 저장소다.
+ */
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    /**
+     * 상품별 미반영(PENDING) 변동 합계다.
+     */
+    @Query("select m.productId as productId, sum(m.delta) as delta from StockMovement m "
+            + "where m.status = com.example.portfolio.inventory.domain.StockMovementStatus.PENDING and m.productId in :productIds "
+            + "group by m.productId")
+    List<ProductDelta> sumPending(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * 컴팩션 대상 미반영 변동을 상품 ID, 변동 ID 순으로 배타 잠금하며 조회한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from StockMovement m "
+            + "where m.status = com.example.portfolio.inventory.domain.StockMovementStatus.PENDING and m.productId in :productIds "
+            + "order by m.productId asc, m.id asc")
+    List<StockMovement> findPendingForUpdate(@Param("productIds") Collection<Long> productIds);
+
+    @Query("select distinct m.productId from StockMovement m "
+            + "where m.status = com.example.portfolio.inventory.domain.StockMovementStatus.PENDING order by m.productId asc")
+    List<Long> findPendingProductIds(Pageable pageable);
+
+    /**
+     * 스냅샷에 반영된 지 보존 기간이 지난 APPLIED 변동을 applied_at 순으로 최대 limit건 삭제한다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM stock_movements WHERE status = 'APPLIED' AND applied_at < :cutoff "
+            + "ORDER BY applied_at LIMIT :limit", nativeQuery = true)
+    int deleteAppliedBefore(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
+
+    interface ProductDelta {
+        Long getProductId();
+
+        Long getDelta();
+    }
+}
@@ -1,13 +1,33 @@
 package com.example.portfolio.inventory.infra;
 
 import com.example.portfolio.inventory.domain.Stock;
+import jakarta.persistence.LockModeType;
 import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * 재고 데이터를 조회하고 낙관적 락으로 갱신하는 저장소다.
  */
 public interface StockRepository extends JpaRepository<Stock, Long> {
     List<Stock> findByProductIdIn(Collection<Long> productIds);
+
+    /**
+     * 상품 ID 오름차순으로 재고 행을 배타 잠금하며 조회한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Stock s where s.productId in :productIds order by s.productId asc")
+    List<Stock> findAllForUpdate(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * 남은 수량이 충분할 때만 차감하며, 갱신된 행 수(0 또는 1)를 반환한다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE stocks SET quantity = quantity - :quantity, version = version + 1 "
+            + "WHERE product_id = :productId AND quantity >= :quantity", nativeQuery = true)
+    int decrementIfAvailable(@Param("productId") Long productId, @Param("quantity") long quantity);
 }
@@ -0,0 +1,71 @@
+package com.example.portfolio.inventory.infra;
+
+import com.example.portfolio.inventory.domain.StockStripe;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * 재고 스트라이프를 조회/차감하는 저장소다.
+ * 주문 경로는 영속성 컨텍스트에 오래된 엔티티가 남지 않도록 프로젝션과 네이티브 UPDATE만 사용한다.
+ */
+public interface StockStripeRepository extends JpaRepository<StockStripe, StockStripe.Key> {
+
+    /**
+     * 잠금 없이 읽은 스트라이프별 수량이다. 차감 후보를 고르는 힌트로만 쓰고 최종 판정은 조건부 UPDATE가 한다.
+     */
+    @Query(value = "SELECT product_id AS productId, stripe_no AS stripeNo, quantity AS quantity "
+            + "FROM stock_stripes WHERE product_id IN (:productIds)", nativeQuery = true)
+    List<StripeQuantity> findQuantities(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * 잔량이 충분한 스트라이프 중 번호가 가장 작고 다른 트랜잭션이 잡고 있지 않은 것을 잠근다. 잠금을 기다리지 않는다.
+     */
+    @Query(value = "SELECT stripe_no FROM stock_stripes WHERE product_id = :productId AND quantity >= :quantity "
+            + "ORDER BY stripe_no LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Integer> pickAvailableForUpdate(@Param("productId") Long productId, @Param("quantity") long quantity);
+
+    /**
+     * 한 상품의 스트라이프 중 다른 트랜잭션이 잡고 있지 않은 행만 번호 순으로 잠그며 수량을 읽는다. 잠금을 기다리지 않는다.
+     */
+    @Query(value = "SELECT product_id AS productId, stripe_no AS stripeNo, quantity AS quantity "
+            + "FROM stock_stripes WHERE product_id = :productId ORDER BY stripe_no FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<StripeQuantity> lockUnclaimedQuantities(@Param("productId") Long productId);
+
+    /**
+     * 관리자 재분배용으로 한 상품의 스트라이프 엔티티를 번호 순으로 잠근다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from StockStripe s where s.productId = :productId order by s.stripeNo asc")
+    List<StockStripe> findAllForUpdate(@Param("productId") Long productId);
+
+    /**
+     * 스트라이프 잔량이 충분할 때만 차감하며, 갱신된 행 수(0 또는 1)를 반환한다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE stock_stripes SET quantity = quantity - :quantity "
+            + "WHERE product_id = :productId AND stripe_no = :stripeNo AND quantity >= :quantity", nativeQuery = true)
+    int decrementIfAvailable(@Param("productId") Long productId, @Param("stripeNo") int stripeNo, @Param("quantity") long quantity);
+
+    /**
+     * 원장 컴팩션 결과를 스트라이프에 더한다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE stock_stripes SET quantity = quantity + :quantity "
+            + "WHERE product_id = :productId AND stripe_no = :stripeNo", nativeQuery = true)
+    int increment(@Param("productId") Long productId, @Param("stripeNo") int stripeNo, @Param("quantity") long quantity);
+
+    interface StripeQuantity {
+        Long getProductId();
+
+        Integer getStripeNo();
+
+        Long getQuantity();
+    }
+}
@@ -1,32 +1,65 @@
 package com.example.portfolio.notification.application;
 
+import com.example.portfolio.common.dedup.ProcessedEventStore;
 import com.example.portfolio.notification.domain.Notification;
-import com.example.portfolio.notification.infra.NotificationRepository;
-import org.springframework.dao.DataIntegrityViolationException;
+import com.example.portfolio.notification.infra.NotificationBatchRepository;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Kafka 이벤트를 받아 알림 엔티티로 저장한다.
+ * 중복 판별은 {@link ProcessedEventStore}가 맡아 대부분의 신규 이벤트는 조회 없이 저장하고, event_id UNIQUE 키는 최종 방어선으로 남긴다.
  */
 @Service
 public class NotificationApplicationService {
 
-    private final NotificationRepository notificationRepository;
+    static final String CONSUMER = "notification";
 
-    public NotificationApplicationService(NotificationRepository notificationRepository) {
-        this.notificationRepository = notificationRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final ProcessedEventStore processedEventStore;
+
+    public NotificationApplicationService(
+            NotificationBatchRepository notificationBatchRepository,
+            ProcessedEventStore processedEventStore) {
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.processedEventStore = processedEventStore;
     }
 
+    /**
+     * 알림 한 건을 저장한다. 다른 레플리카가 처리한 이벤트는 필터가 모를 수 있으므로 event_id UNIQUE 키 충돌은 INSERT 단계에서 건너뛴다.
+     */
     @Transactional
     public void saveOrderCreatedNotification(String eventId, Long orderId, Long userId, String message) {
-        if (notificationRepository.findByEventId(eventId).isPresent()) {
+        if (!processedEventStore.findProcessed(CONSUMER, List.of(eventId)).isEmpty()) {
             return;
         }
-        try {
-            notificationRepository.save(Notification.received(eventId, orderId, userId, message));
-        } catch (DataIntegrityViolationException ex) {
-            // UNIQUE 제약 조건 충돌 시 이미 처리된 이벤트로 간주한다.
+        notificationBatchRepository.insertIgnoringDuplicates(List.of(Notification.received(eventId, orderId, userId, message)));
+        processedEventStore.markProcessed(CONSUMER, List.of(eventId));
+    }
+
+    /**
+     * 한 번의 poll로 받은 알림을 한 트랜잭션, 한 번의 다중 행 INSERT로 저장한다.
+     * 이미 처리된 이벤트와 배치 안에서 반복된 이벤트는 빼고, 남은 중복은 event_id UNIQUE 키 충돌로 건너뛴다.
+     */
+    @Transactional
+    public void saveOrderCreatedNotifications(List<OrderCreatedNotification> notifications) {
+        Map<String, OrderCreatedNotification> byEventId = new LinkedHashMap<>();
+        notifications.forEach(notification -> byEventId.putIfAbsent(notification.eventId(), notification));
+        Set<String> processed = processedEventStore.findProcessed(CONSUMER, byEventId.keySet());
+        List<OrderCreatedNotification> fresh = byEventId.values().stream()
+                .filter(notification -> !processed.contains(notification.eventId()))
+                .toList();
+        if (fresh.isEmpty()) {
+            return;
         }
+        notificationBatchRepository.insertIgnoringDuplicates(fresh.stream()
+                .map(notification -> Notification.received(
+                        notification.eventId(), notification.orderId(), notification.userId(), notification.message()))
+                .toList());
+        processedEventStore.markProcessed(CONSUMER, fresh.stream().map(OrderCreatedNotification::eventId).toList());
     }
 }
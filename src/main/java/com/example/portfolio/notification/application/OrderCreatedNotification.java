@@ -0,0 +1,7 @@
+package com.example.portfolio.notification.application;
+
+/**
+ * 주문 생성 이벤트 하나에서 만들 알림 내용이다.
+ */
+public record OrderCreatedNotification(String eventId, Long orderId, Long userId, String message) {
+}
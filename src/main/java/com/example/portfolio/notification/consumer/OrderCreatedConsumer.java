@@ -1,10 +1,19 @@
 package com.example.portfolio.notification.consumer;
 
+import com.example.portfolio.common.messaging.EventCodecRegistry;
+import com.example.portfolio.common.messaging.EventHeaders;
+import com.example.portfolio.common.messaging.KeyOrderedRecordProcessor;
 import com.example.portfolio.notification.application.NotificationApplicationService;
+import com.example.portfolio.notification.application.OrderCreatedNotification;
 import com.example.portfolio.order.application.OrderCreatedEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,20 +23,85 @@ import org.springframework.stereotype.Component;
 public class OrderCreatedConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(OrderCreatedConsumer.class);
+    private static final String MESSAGE = "주문이 생성되었습니다.";
 
     private final NotificationApplicationService notificationApplicationService;
+    private final EventCodecRegistry eventCodecRegistry;
+    private final KeyOrderedRecordProcessor keyOrderedRecordProcessor;
 
-    public OrderCreatedConsumer(NotificationApplicationService notificationApplicationService) {
+    public OrderCreatedConsumer(
+            NotificationApplicationService notificationApplicationService,
+            EventCodecRegistry eventCodecRegistry,
+            KeyOrderedRecordProcessor keyOrderedRecordProcessor) {
         this.notificationApplicationService = notificationApplicationService;
+        this.eventCodecRegistry = eventCodecRegistry;
+        this.keyOrderedRecordProcessor = keyOrderedRecordProcessor;
     }
 
-    @KafkaListener(topics = "${app.kafka.topics.order-created:order.created}", groupId = "notification-consumer")
-    public void consume(OrderCreatedEvent message) {
+    @KafkaListener(id = "order-created-notification", topics = "${app.kafka.topics.order-created:order.created}",
+            groupId = "notification-consumer", autoStartup = "#{'${app.kafka.consumer.mode:batch}' == 'record'}")
+    public void consume(ConsumerRecord<String, byte[]> record) {
+        OrderCreatedEvent message = decode(record);
         log.info("주문 이벤트 수신: eventId={}, orderId={}", message.eventId(), message.order().id());
         notificationApplicationService.saveOrderCreatedNotification(
                 String.valueOf(message.eventId()),
                 message.order().id(),
                 message.order().userId(),
-                "주문이 생성되었습니다.");
+                MESSAGE);
+    }
+
+    /**
+     * 배치 전체를 한 트랜잭션으로 저장한다. 배치 저장이 실패하면 건별로 다시 저장해 실패한 레코드를 찾아
+     * {@link BatchListenerFailedException}으로 알리고, 에러 핸들러는 그 앞까지의 오프셋을 커밋한 뒤 해당 레코드부터 재시도한다.
+     */
+    @KafkaListener(id = "order-created-notification-batch", topics = "${app.kafka.topics.order-created:order.created}",
+            groupId = "notification-consumer", containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "#{'${app.kafka.consumer.mode:batch}' == 'batch'}")
+    public void consumeBatch(List<ConsumerRecord<String, byte[]>> records) {
+        List<OrderCreatedNotification> notifications = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                notifications.add(toNotification(decode(records.get(i))));
+            } catch (RuntimeException ex) {
+                throw new BatchListenerFailedException("주문 이벤트 역직렬화 실패", ex, i);
+            }
+        }
+        try {
+            notificationApplicationService.saveOrderCreatedNotifications(notifications);
+            log.info("주문 이벤트 배치 저장: count={}", notifications.size());
+        } catch (DataAccessException ex) {
+            log.warn("주문 이벤트 배치 저장 실패, 건별로 다시 저장합니다: count={}", notifications.size(), ex);
+            saveOneByOne(notifications);
+        }
+    }
+
+    /**
+     * poll 분량을 키별로 나눠 병렬로 건별 저장한다. 배치의 모든 레코드가 끝난 뒤 오프셋이 한 번 커밋된다.
+     */
+    @KafkaListener(id = "order-created-notification-parallel", topics = "${app.kafka.topics.order-created:order.created}",
+            groupId = "notification-consumer", containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "#{'${app.kafka.consumer.mode:batch}' == 'parallel'}")
+    public void consumeParallel(List<ConsumerRecord<String, byte[]>> records) {
+        keyOrderedRecordProcessor.process(records, this::consume);
+    }
+
+    private void saveOneByOne(List<OrderCreatedNotification> notifications) {
+        for (int i = 0; i < notifications.size(); i++) {
+            OrderCreatedNotification notification = notifications.get(i);
+            try {
+                notificationApplicationService.saveOrderCreatedNotification(
+                        notification.eventId(), notification.orderId(), notification.userId(), notification.message());
+            } catch (RuntimeException ex) {
+                throw new BatchListenerFailedException("주문 이벤트 저장 실패: eventId=" + notification.eventId(), ex, i);
+            }
+        }
+    }
+
+    private OrderCreatedEvent decode(ConsumerRecord<String, byte[]> record) {
+        return eventCodecRegistry.decode(EventHeaders.contentType(record.headers()), record.value(), OrderCreatedEvent.class);
+    }
+
+    private static OrderCreatedNotification toNotification(OrderCreatedEvent event) {
+        return new OrderCreatedNotification(String.valueOf(event.eventId()), event.order().id(), event.order().userId(), MESSAGE);
     }
 }
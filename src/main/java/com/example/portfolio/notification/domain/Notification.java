@@ -1,5 +1,6 @@
 package com.example.portfolio.notification.domain;
 
+import com.example.portfolio.common.persistence.PooledIdAllocator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -8,6 +9,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.time.OffsetDateTime;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -19,7 +21,9 @@ import org.hibernate.annotations.CreationTimestamp;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notifications_id")
+    @TableGenerator(name = "notifications_id", table = PooledIdAllocator.SEQUENCE_TABLE, pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "notifications", allocationSize = PooledIdAllocator.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 64)
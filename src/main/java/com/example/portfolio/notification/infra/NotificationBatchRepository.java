@@ -0,0 +1,53 @@
+package com.example.portfolio.notification.infra;
+
+import com.example.portfolio.common.persistence.PooledIdAllocator;
+import com.example.portfolio.notification.domain.Notification;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 알림 여러 건을 다중 행 INSERT 한 번으로 저장한다. event_id UNIQUE 키와 충돌하는 행은 이미 처리된 이벤트로 보고 건너뛴다.
+ * 같은 id에 다른 event_id가 있는 PK 충돌은 id를 NULL로 갱신하게 만들어 strict 모드에서 예외가 되게 한다.
+ * INSERT IGNORE와 달리 PK 충돌이나 외래 키 위반 같은 다른 오류는 그대로 예외가 된다.
+ */
+@Repository
+public class NotificationBatchRepository {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO notifications (id, event_id, order_id, user_id, status, message, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE id = IF(event_id = VALUES(event_id), id, NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PooledIdAllocator idAllocator;
+
+    public NotificationBatchRepository(JdbcTemplate jdbcTemplate, PooledIdAllocator idAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+    }
+
+    public void insertIgnoringDuplicates(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(notifications.size() * 7);
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDER);
+            args.add(idAllocator.next("notifications"));
+            args.add(notification.getEventId());
+            args.add(notification.getOrderId());
+            args.add(notification.getUserId());
+            args.add(notification.getStatus().name());
+            args.add(notification.getMessage());
+            args.add(createdAt);
+        }
+        jdbcTemplate.update(sql.append(ON_DUPLICATE).toString(), args.toArray());
+    }
+}
@@ -4,11 +4,15 @@ import com.example.portfolio.common.exception.BusinessException;
 import com.example.portfolio.common.exception.ErrorCode;
 import com.example.portfolio.common.security.CurrentUser;
 import com.example.portfolio.common.security.CurrentUserProvider;
+import com.example.portfolio.order.api.dto.BatchOrderResultResponse;
+import com.example.portfolio.order.api.dto.CreateOrderBatchRequest;
 import com.example.portfolio.order.api.dto.CreateOrderRequest;
 import com.example.portfolio.order.api.dto.OrderItemRequest;
 import com.example.portfolio.order.api.dto.OrderItemResponse;
+import com.example.portfolio.order.api.dto.OrderBatchResponse;
 import com.example.portfolio.order.api.dto.OrderListResponse;
 import com.example.portfolio.order.api.dto.OrderResponse;
+import com.example.portfolio.order.application.BatchOrderResult;
 import com.example.portfolio.order.application.CancelOrderCommand;
 import com.example.portfolio.order.application.CreateOrderCommand;
 import com.example.portfolio.order.application.OrderApplicationService;
@@ -62,6 +66,27 @@ public class OrderController {
         return ResponseEntity.ok(toResponse(view));
     }
 
+    /**
+     * 여러 주문을 한 트랜잭션으로 생성하고 주문별 결과를 반환한다. 일부 주문이 거절되어도 나머지는 생성된다.
+     */
+    @PostMapping("/batch")
+    public OrderBatchResponse createOrders(@Valid @RequestBody CreateOrderBatchRequest request) {
+        CurrentUser currentUser = currentUserProvider.getCurrentUser();
+        List<CreateOrderCommand> commands = request.orders().stream()
+                .map(order -> new CreateOrderCommand(
+                        currentUser.id(),
+                        order.idempotencyKey(),
+                        hashRequest(currentUser.id(), order.idempotencyKey(), order.items()),
+                        order.items().stream()
+                                .map(item -> new OrderLineCommand(item.productId(), item.quantity()))
+                                .toList()))
+                .toList();
+        List<BatchOrderResultResponse> results = orderApplicationService.createOrders(commands).stream()
+                .map(this::toResultResponse)
+                .toList();
+        return new OrderBatchResponse(results);
+    }
+
     @GetMapping
     public OrderListResponse listOrders() {
         CurrentUser currentUser = currentUserProvider.getCurrentUser();
@@ -98,6 +123,15 @@ public class OrderController {
                 items);
     }
 
+    private BatchOrderResultResponse toResultResponse(BatchOrderResult result) {
+        return new BatchOrderResultResponse(
+                result.idempotencyKey(),
+                result.status(),
+                result.order() != null ? toResponse(result.order()) : null,
+                result.errorCode() != null ? result.errorCode().name() : null,
+                result.message());
+    }
+
     private String hashRequest(Long userId, String idempotencyKey, List<OrderItemRequest> items) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
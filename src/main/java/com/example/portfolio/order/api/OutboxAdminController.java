@@ -0,0 +1,88 @@
+package com.example.portfolio.order.api;
+
+import com.example.portfolio.order.api.dto.OutboxBulkActionResponse;
+import com.example.portfolio.order.api.dto.OutboxParkedEventFilterRequest;
+import com.example.portfolio.order.api.dto.OutboxParkedEventListResponse;
+import com.example.portfolio.order.api.dto.OutboxParkedEventResponse;
+import com.example.portfolio.order.application.OutboxParkedEventFilter;
+import com.example.portfolio.order.application.OutboxParkedEventListView;
+import com.example.portfolio.order.application.OutboxParkedEventView;
+import com.example.portfolio.order.application.OutboxParkingService;
+import com.example.portfolio.order.domain.OutboxParkedStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.OffsetDateTime;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 최대 재시도 횟수를 넘겨 보관된 outbox 이벤트를 조회, 재발행, 폐기하는 관리자 API다.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/outbox/parked")
+@PreAuthorize("hasRole('ADMIN')")
+@Validated
+public class OutboxAdminController {
+
+    private final OutboxParkingService outboxParkingService;
+
+    public OutboxAdminController(OutboxParkingService outboxParkingService) {
+        this.outboxParkingService = outboxParkingService;
+    }
+
+    @GetMapping
+    public OutboxParkedEventListResponse list(
+            @RequestParam(required = false) OutboxParkedStatus status,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String aggregateId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime parkedBefore,
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "페이지는 0 이상이어야 합니다.") int page,
+            @RequestParam(defaultValue = "20") @Min(value = 1, message = "사이즈는 1 이상이어야 합니다.") @Max(value = 100, message = "사이즈는 100 이하여야 합니다.") int size) {
+        OutboxParkedEventListView view = outboxParkingService.list(
+                status, new OutboxParkedEventFilter(eventType, aggregateId, parkedBefore), page, size);
+        return new OutboxParkedEventListResponse(
+                view.items().stream().map(this::toResponse).toList(),
+                view.totalElements(),
+                view.totalPages(),
+                view.page(),
+                view.size());
+    }
+
+    @PostMapping("/replay")
+    public OutboxBulkActionResponse replay(@RequestBody OutboxParkedEventFilterRequest request) {
+        return new OutboxBulkActionResponse(outboxParkingService.requestReplay(toFilter(request)));
+    }
+
+    @PostMapping("/discard")
+    public OutboxBulkActionResponse discard(@RequestBody OutboxParkedEventFilterRequest request) {
+        return new OutboxBulkActionResponse(outboxParkingService.discard(toFilter(request)));
+    }
+
+    private OutboxParkedEventFilter toFilter(OutboxParkedEventFilterRequest request) {
+        return new OutboxParkedEventFilter(blankToNull(request.eventType()), blankToNull(request.aggregateId()), request.parkedBefore());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private OutboxParkedEventResponse toResponse(OutboxParkedEventView view) {
+        return new OutboxParkedEventResponse(
+                view.id(),
+                view.aggregateType(),
+                view.aggregateId(),
+                view.eventType(),
+                view.payload(),
+                view.retries(),
+                view.status(),
+                view.createdAt(),
+                view.parkedAt());
+    }
+}
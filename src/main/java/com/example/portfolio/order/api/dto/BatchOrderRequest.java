@@ -0,0 +1,18 @@
+package com.example.portfolio.order.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 일괄 주문 요청에 포함되는 단일 주문으로, 주문마다 자체 Idempotency-Key를 가진다.
+ */
+public record BatchOrderRequest(
+        @NotBlank(message = "Idempotency-Key는 필수입니다.")
+        @Size(max = 64, message = "Idempotency-Key는 64자 이하여야 합니다.")
+        String idempotencyKey,
+        @NotEmpty(message = "주문 항목은 1개 이상이어야 합니다.")
+        List<@Valid OrderItemRequest> items) {
+}
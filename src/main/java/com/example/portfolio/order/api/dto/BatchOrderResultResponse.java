@@ -0,0 +1,14 @@
+package com.example.portfolio.order.api.dto;
+
+import com.example.portfolio.order.application.BatchOrderStatus;
+
+/**
+ * 일괄 주문 응답 내 단일 주문 결과다. 거절된 주문은 order 대신 code/message를 채운다.
+ */
+public record BatchOrderResultResponse(
+        String idempotencyKey,
+        BatchOrderStatus status,
+        OrderResponse order,
+        String code,
+        String message) {
+}
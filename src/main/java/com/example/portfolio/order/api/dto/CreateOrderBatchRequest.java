@@ -0,0 +1,15 @@
+package com.example.portfolio.order.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 일괄 주문 생성 요청 본문이다.
+ */
+public record CreateOrderBatchRequest(
+        @NotEmpty(message = "주문은 1건 이상이어야 합니다.")
+        @Size(max = 500, message = "한 번에 최대 500건까지 주문할 수 있습니다.")
+        List<@Valid BatchOrderRequest> orders) {
+}
@@ -0,0 +1,9 @@
+package com.example.portfolio.order.api.dto;
+
+import java.util.List;
+
+/**
+ * 일괄 주문 응답으로, 요청 순서대로 주문별 결과를 담는다.
+ */
+public record OrderBatchResponse(List<BatchOrderResultResponse> results) {
+}
@@ -0,0 +1,7 @@
+package com.example.portfolio.order.api.dto;
+
+/**
+ * 보관 이벤트 일괄 처리 결과로, 조건에 맞아 처리된 건수를 담는다.
+ */
+public record OutboxBulkActionResponse(int affected) {
+}
@@ -0,0 +1,12 @@
+package com.example.portfolio.order.api.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 보관 이벤트 일괄 재발행/폐기 대상 조건이다. 비워 둔 항목은 조건에서 빠진다.
+ */
+public record OutboxParkedEventFilterRequest(
+        String eventType,
+        String aggregateId,
+        OffsetDateTime parkedBefore) {
+}
@@ -0,0 +1,14 @@
+package com.example.portfolio.order.api.dto;
+
+import java.util.List;
+
+/**
+ * 페이지 단위 보관 이벤트 목록 응답이다.
+ */
+public record OutboxParkedEventListResponse(
+        List<OutboxParkedEventResponse> items,
+        long totalElements,
+        int totalPages,
+        int page,
+        int size) {
+}
@@ -0,0 +1,18 @@
+package com.example.portfolio.order.api.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 보관된 outbox 이벤트 응답이다.
+ */
+public record OutboxParkedEventResponse(
+        Long id,
+        String aggregateType,
+        String aggregateId,
+        String eventType,
+        String payload,
+        int retries,
+        String status,
+        OffsetDateTime createdAt,
+        OffsetDateTime parkedAt) {
+}
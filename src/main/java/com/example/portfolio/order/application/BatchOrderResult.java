@@ -0,0 +1,26 @@
+package com.example.portfolio.order.application;
+
+import com.example.portfolio.common.exception.ErrorCode;
+
+/**
+ * 일괄 주문 요청 내 단일 주문의 결과로, 거절된 경우 주문 대신 오류 코드와 메시지를 담는다.
+ */
+public record BatchOrderResult(
+        String idempotencyKey,
+        BatchOrderStatus status,
+        OrderView order,
+        ErrorCode errorCode,
+        String message) {
+
+    public static BatchOrderResult created(OrderView order) {
+        return new BatchOrderResult(order.idempotencyKey(), BatchOrderStatus.CREATED, order, null, null);
+    }
+
+    public static BatchOrderResult replayed(OrderView order) {
+        return new BatchOrderResult(order.idempotencyKey(), BatchOrderStatus.REPLAYED, order, null, null);
+    }
+
+    public static BatchOrderResult rejected(String idempotencyKey, ErrorCode errorCode, String message) {
+        return new BatchOrderResult(idempotencyKey, BatchOrderStatus.REJECTED, null, errorCode, message);
+    }
+}
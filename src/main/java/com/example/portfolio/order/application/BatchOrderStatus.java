@@ -0,0 +1,10 @@
+package com.example.portfolio.order.application;
+
+/**
+ * 일괄 주문 요청에서 개별 주문의 처리 결과다.
+ */
+public enum BatchOrderStatus {
+    CREATED,
+    REPLAYED,
+    REJECTED
+}
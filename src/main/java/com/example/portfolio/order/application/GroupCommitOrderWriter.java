@@ -0,0 +1,102 @@
+package com.example.portfolio.order.application;
+
+import com.example.portfolio.common.concurrent.MicroBatchQueue;
+import com.example.portfolio.common.exception.BusinessException;
+import com.example.portfolio.common.transaction.RetryingTransactionExecutor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 동시에 들어온 주문 생성 요청을 최대 N건 또는 T 밀리초 단위의 마이크로 배치로 묶어 한 번의 커밋으로 기록한다.
+ * 배치 트랜잭션이 실패하면 해당 배치의 주문을 각자의 트랜잭션으로 다시 처리해 한 주문의 오류가 나머지로 번지지 않게 한다.
+ */
+@Component
+public class GroupCommitOrderWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitOrderWriter.class);
+
+    private final OrderWriter orderWriter;
+    private final RetryingTransactionExecutor transactionExecutor;
+    private final DistributionSummary batchSizeSummary;
+    private final boolean enabled;
+    private final MicroBatchQueue<PendingOrder> queue;
+
+    public GroupCommitOrderWriter(
+            OrderWriter orderWriter,
+            RetryingTransactionExecutor transactionExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.order.group-commit.enabled:false}") boolean enabled,
+            @Value("${app.order.group-commit.max-batch-size:32}") int maxBatchSize,
+            @Value("${app.order.group-commit.max-wait-ms:5}") long maxWaitMs,
+            @Value("${app.order.group-commit.queue-capacity:1000}") int queueCapacity) {
+        this.orderWriter = orderWriter;
+        this.transactionExecutor = transactionExecutor;
+        this.batchSizeSummary = DistributionSummary.builder("order.group-commit.batch.size").register(meterRegistry);
+        this.enabled = enabled;
+        this.queue = enabled
+                ? new MicroBatchQueue<>("order-group-commit", maxBatchSize, maxWaitMs, queueCapacity, this::commit)
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 주문을 큐에 넣는다. 큐가 가득 찼거나 종료 중이면 null을 반환해 호출 측이 단건 트랜잭션으로 처리하게 한다.
+     */
+    CompletableFuture<OrderPlacement> submit(CreateOrderCommand command) {
+        PendingOrder pending = new PendingOrder(command, new CompletableFuture<>());
+        return enabled && queue.offer(pending) ? pending.future() : null;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        queue.shutdown();
+    }
+
+    private void commit(List<PendingOrder> batch) {
+        batchSizeSummary.record(batch.size());
+        List<CreateOrderCommand> commands = batch.stream().map(PendingOrder::command).toList();
+        List<BatchOrderResult> results;
+        try {
+            results = transactionExecutor.execute("order.group-commit", status -> orderWriter.placeOrders(commands));
+        } catch (RuntimeException ex) {
+            log.warn("그룹 커밋 실패, 주문별 트랜잭션으로 재처리합니다: size={}", batch.size(), ex);
+            batch.forEach(this::commitAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), results.get(i));
+        }
+    }
+
+    private void commitAlone(PendingOrder pending) {
+        try {
+            pending.future().complete(transactionExecutor.execute("order.create", status -> orderWriter.placeOrder(pending.command())));
+        } catch (RuntimeException ex) {
+            pending.future().completeExceptionally(ex);
+        }
+    }
+
+    private void complete(PendingOrder pending, BatchOrderResult result) {
+        switch (result.status()) {
+            case CREATED -> pending.future().complete(new OrderPlacement(result.order(), false));
+            case REPLAYED -> pending.future().complete(new OrderPlacement(result.order(), true));
+            case REJECTED -> pending.future().completeExceptionally(new BusinessException(result.errorCode(), result.message()));
+        }
+    }
+
+    private record PendingOrder(CreateOrderCommand command, CompletableFuture<OrderPlacement> future) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.portfolio.order.application;
+
+import com.example.portfolio.order.infra.IdempotencyRecordRepository;
+import java.time.OffsetDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 보존 기간이 지난 멱등 레코드를 expires_at 범위 삭제로 청크 단위 정리한다.
+ * 청크마다 짧은 트랜잭션으로 커밋해 주문 경로와 잠금 경합을 줄인다.
+ */
+@Component
+public class IdempotencyRecordPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyRecordPurgeJob.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final int chunkSize;
+
+    public IdempotencyRecordPurgeJob(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            @Value("${app.order.idempotency.purge-chunk-size:1000}") int chunkSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.order.idempotency.purge-cron:0 */10 * * * *}")
+    public void purgeExpired() {
+        OffsetDateTime now = OffsetDateTime.now();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = idempotencyRecordRepository.deleteExpired(now, chunkSize);
+            purged += deleted;
+        } while (deleted == chunkSize);
+        if (purged > 0) {
+            log.info("만료 멱등 레코드 정리 완료: count={}, before={}", purged, now);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.portfolio.order.application;
+
+/**
+ * Idempotency-Key로 완료된 주문 응답과 원 요청 해시를 함께 보관한다.
+ */
+public record IdempotentOrderResponse(String requestHash, OrderView order) {
+}
@@ -2,27 +2,32 @@ package com.example.portfolio.order.application;
 
 import com.example.portfolio.common.exception.BusinessException;
 import com.example.portfolio.common.exception.ErrorCode;
-import com.example.portfolio.inventory.domain.Product;
-import com.example.portfolio.inventory.domain.Stock;
-import com.example.portfolio.inventory.infra.ProductRepository;
-import com.example.portfolio.inventory.infra.StockRepository;
+import com.example.portfolio.common.transaction.RetryingTransactionExecutor;
+import com.example.portfolio.inventory.application.StockLedgerService;
+import com.example.portfolio.inventory.application.StockPreReservationService;
 import com.example.portfolio.order.domain.Order;
-import com.example.portfolio.order.domain.OrderItem;
-import com.example.portfolio.order.domain.OrderStatus;
-import com.example.portfolio.order.domain.OutboxEvent;
+import com.example.portfolio.order.infra.IdempotencyResponseCache;
 import com.example.portfolio.order.infra.OrderRepository;
-import com.example.portfolio.order.infra.OutboxEventRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -35,55 +40,124 @@ public class OrderApplicationService {
     private static final Logger log = LoggerFactory.getLogger(OrderApplicationService.class);
 
     private final OrderRepository orderRepository;
-    private final OutboxEventRepository outboxEventRepository;
-    private final ProductRepository productRepository;
-    private final StockRepository stockRepository;
-    private final ObjectMapper objectMapper;
+    private final OrderWriter orderWriter;
+    private final IdempotencyResponseCache idempotencyResponseCache;
+    private final GroupCommitOrderWriter groupCommitOrderWriter;
+    private final StockPreReservationService stockPreReservationService;
+    private final StockLedgerService stockLedgerService;
+    private final RetryingTransactionExecutor transactionExecutor;
+    private final long awaitTimeoutMs;
+    private final ConcurrentMap<String, InFlightOrder> inFlightOrders = new ConcurrentHashMap<>();
 
     public OrderApplicationService(
             OrderRepository orderRepository,
-            OutboxEventRepository outboxEventRepository,
-            ProductRepository productRepository,
-            StockRepository stockRepository,
-            ObjectMapper objectMapper) {
+            OrderWriter orderWriter,
+            IdempotencyResponseCache idempotencyResponseCache,
+            GroupCommitOrderWriter groupCommitOrderWriter,
+            StockPreReservationService stockPreReservationService,
+            StockLedgerService stockLedgerService,
+            RetryingTransactionExecutor transactionExecutor,
+            @Value("${app.order.await-timeout-ms:10000}") long awaitTimeoutMs) {
         this.orderRepository = orderRepository;
-        this.outboxEventRepository = outboxEventRepository;
-        this.productRepository = productRepository;
-        this.stockRepository = stockRepository;
-        this.objectMapper = objectMapper;
+        this.orderWriter = orderWriter;
+        this.idempotencyResponseCache = idempotencyResponseCache;
+        this.groupCommitOrderWriter = groupCommitOrderWriter;
+        this.stockPreReservationService = stockPreReservationService;
+        this.stockLedgerService = stockLedgerService;
+        this.transactionExecutor = transactionExecutor;
+        this.awaitTimeoutMs = awaitTimeoutMs;
     }
 
     /**
      * 중복 안전 키(Idempotency-Key) 중복 시 기존 주문을 반환하고, 신규일 경우 재고 차감과 outbox 적재를 수행한다.
+     * 완료된 응답은 Redis 캐시에서 바로 재생하고, 같은 키로 동시에 들어온 요청은 먼저 도착한 요청의 결과를 함께 기다린다.
+     * 캐시/DB의 요청 해시가 다르면 다른 본문의 재사용으로 보고 409를 반환한다.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderView createOrder(CreateOrderCommand command) {
-        Optional<Order> existing = orderRepository.findByIdempotencyKey(command.idempotencyKey());
-        if (existing.isPresent()) {
-            return OrderView.from(existing.get());
+        String key = command.idempotencyKey();
+        Optional<IdempotentOrderResponse> cached = idempotencyResponseCache.find(key);
+        if (cached.isPresent()) {
+            OrderWriter.ensureSameRequest(cached.get().requestHash(), command);
+            return cached.get().order();
+        }
+        InFlightOrder mine = new InFlightOrder(command.requestHash(), new CompletableFuture<>());
+        InFlightOrder leader = inFlightOrders.putIfAbsent(key, mine);
+        if (leader != null) {
+            OrderWriter.ensureSameRequest(leader.requestHash(), command);
+            return await(leader.result());
         }
         try {
-            Order order = Order.create(command.userId(), command.idempotencyKey(), command.requestHash());
-            Map<Long, Product> productMap = loadProducts(command.items());
-            for (OrderLineCommand itemCommand : command.items()) {
-                Product product = productMap.get(itemCommand.productId());
-                if (product == null) {
-                    throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "상품을 찾을 수 없습니다.");
+            OrderView view = createOrderOnce(command);
+            idempotencyResponseCache.save(key, new IdempotentOrderResponse(command.requestHash(), view));
+            mine.result().complete(view);
+            return view;
+        } catch (RuntimeException ex) {
+            mine.result().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightOrders.remove(key, mine);
+        }
+    }
+
+    /**
+     * 여러 주문을 한 트랜잭션으로 처리하고 주문마다 생성/재생/거절 결과를 요청 순서대로 반환한다.
+     * 단건 주문처럼 이미 처리된 키를 뺀 새 키만 Redis로 선예약하고, 선예약에서 품절로 거절된 주문은 DB 배치에 넣지 않는다.
+     * 생성되지 않은 주문의 선예약분과 배치 전체가 실패했을 때의 선예약분은 되돌린다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchOrderResult> createOrders(List<CreateOrderCommand> commands) {
+        Set<String> storedKeys = transactionExecutor.execute("order.replay", status -> orderWriter.findStoredKeys(commands));
+        Set<String> seen = new HashSet<>();
+        Map<String, Map<Long, Long>> preReserved = new HashMap<>();
+        Map<String, BatchOrderResult> preRejected = new HashMap<>();
+        for (CreateOrderCommand command : commands) {
+            String key = command.idempotencyKey();
+            if (storedKeys.contains(key) || !seen.add(key)) {
+                continue;
+            }
+            Map<Long, Long> demand = OrderWriter.demandOf(command.items());
+            try {
+                if (stockPreReservationService.reserve(demand)) {
+                    preReserved.put(key, demand);
                 }
-                Stock stock = stockRepository.findById(product.getId())
-                        .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "재고를 찾을 수 없습니다."));
-                stock.applyDelta(-itemCommand.quantity());
-                OrderItem item = OrderItem.of(product.getId(), itemCommand.quantity(), product.getPrice());
-                order.addItem(item);
+            } catch (BusinessException ex) {
+                preRejected.put(key, BatchOrderResult.rejected(key, ex.getErrorCode(), ex.getMessage()));
             }
-            Order saved = orderRepository.save(order);
-            persistOutbox(saved);
-            return OrderView.from(saved);
+        }
+
+        List<CreateOrderCommand> admitted = commands.stream()
+                .filter(command -> !preRejected.containsKey(command.idempotencyKey()))
+                .toList();
+        List<BatchOrderResult> placed;
+        try {
+            placed = admitted.isEmpty() ? List.of() : placeOrders(admitted);
+        } catch (RuntimeException ex) {
+            preReserved.values().forEach(stockPreReservationService::release);
+            throw ex;
+        }
+        Iterator<BatchOrderResult> placedResults = placed.iterator();
+        List<BatchOrderResult> results = new ArrayList<>();
+        for (CreateOrderCommand command : commands) {
+            BatchOrderResult result = preRejected.containsKey(command.idempotencyKey())
+                    ? preRejected.get(command.idempotencyKey())
+                    : placedResults.next();
+            if (result.status() == BatchOrderStatus.CREATED) {
+                preReserved.remove(result.idempotencyKey());
+            }
+            results.add(result);
+        }
+        preReserved.values().forEach(stockPreReservationService::release);
+        return results;
+    }
+
+    private List<BatchOrderResult> placeOrders(List<CreateOrderCommand> commands) {
+        try {
+            return transactionExecutor.execute("order.create-batch", status -> orderWriter.placeOrders(commands));
         } catch (DataIntegrityViolationException ex) {
-            log.warn("Idempotency key collision detected", ex);
-            Order fallback = orderRepository.findByIdempotencyKey(command.idempotencyKey())
-                    .orElseThrow(() -> new BusinessException(ErrorCode.INTERNAL_ERROR, "주문 처리 중 오류가 발생했습니다."));
-            return OrderView.from(fallback);
+            // 단건 요청과 키가 겹친 경우로, 다시 실행하면 해당 주문은 재생 결과로 분류된다.
+            log.warn("Idempotency key collision detected in batch, re-running once", ex);
+            return transactionExecutor.execute("order.create-batch", status -> orderWriter.placeOrders(commands));
         }
     }
 
@@ -105,6 +179,7 @@ public class OrderApplicationService {
 
     /**
      * CREATED 상태의 주문만 취소하며 재시도 가능하도록 한다.
+     * 취소 수량은 재고 행을 잠그지 않고 원장에 입고로 적재되며, 컴팩션 때 재고에 반영된다. Redis 카운터는 커밋 후에 되돌린다.
      */
     @Transactional
     public OrderView cancelOrder(CancelOrderCommand command) {
@@ -112,26 +187,93 @@ public class OrderApplicationService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "주문을 찾을 수 없습니다."));
         ensureOwner(order, command.userId());
         order.cancel();
-        return OrderView.from(order);
+        OrderView view = OrderView.from(order);
+        Map<Long, Long> quantities = OrderWriter.demandOf(view.items().stream()
+                .map(item -> new OrderLineCommand(item.productId(), item.quantity()))
+                .toList());
+        stockLedgerService.recordCancellation(order.getId(), quantities);
+        stockPreReservationService.applyAdjustmentsAfterCommit(quantities);
+        return view;
     }
 
-    private Map<Long, Product> loadProducts(List<OrderLineCommand> items) {
-        List<Long> productIds = items.stream().map(OrderLineCommand::productId).distinct().toList();
-        return productRepository.findAllById(productIds).stream()
-                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    /**
+     * 이미 처리된 키면 선예약 없이 저장된 응답을 재생하고, 새 키만 DB 트랜잭션을 열기 전에 Redis로 선예약한다.
+     * 주문이 생성되지 않으면 선예약분을 되돌린다. 그룹 커밋으로 넘긴 주문은 응답 대기가 시간 초과되어도 나중에 커밋될 수 있으므로
+     * 배치 결과가 확정될 때 되돌린다.
+     * 동시성 충돌 시에는 트랜잭션 전체를 재시도하고, 그룹 커밋이 켜져 있으면 다른 요청과 한 트랜잭션으로 묶어 기록한다.
+     */
+    private OrderView createOrderOnce(CreateOrderCommand command) {
+        Optional<OrderView> replayed = transactionExecutor.execute("order.replay", status -> orderWriter.findReplay(command));
+        if (replayed.isPresent()) {
+            return replayed.get();
+        }
+        Map<Long, Long> demand = OrderWriter.demandOf(command.items());
+        boolean preReserved = stockPreReservationService.reserve(demand);
+        CompletableFuture<OrderPlacement> queued = groupCommitOrderWriter.isEnabled()
+                ? groupCommitOrderWriter.submit(command)
+                : null;
+        if (queued != null) {
+            queued.whenComplete((placement, ex) -> {
+                if (ex != null || placement.replayed()) {
+                    releaseIfReserved(preReserved, demand);
+                }
+            });
+        }
+        try {
+            OrderPlacement placement = queued == null
+                    ? transactionExecutor.execute("order.create", status -> orderWriter.placeOrder(command))
+                    : await(queued);
+            if (queued == null && placement.replayed()) {
+                releaseIfReserved(preReserved, demand);
+            }
+            return placement.order();
+        } catch (DataIntegrityViolationException ex) {
+            if (queued == null) {
+                releaseIfReserved(preReserved, demand);
+            }
+            log.warn("Idempotency key collision detected", ex);
+            return transactionExecutor.execute("order.replay", status -> orderWriter.findReplay(command)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.INTERNAL_ERROR, "주문 처리 중 오류가 발생했습니다.")));
+        } catch (RuntimeException ex) {
+            if (queued == null) {
+                releaseIfReserved(preReserved, demand);
+            }
+            throw ex;
+        }
     }
 
-    private void persistOutbox(Order order) {
+    /**
+     * 그룹 커밋 결과나 같은 키로 먼저 들어온 요청의 결과를 기다리며, 실패 원인은 그대로 전파한다.
+     */
+    private <T> T await(CompletableFuture<T> future) {
         try {
-            OutboxEvent event = OutboxEvent.ready("ORDER", order.getId().toString(), "ORDER_CREATED", "{}");
-            OutboxEvent saved = outboxEventRepository.save(event);
-            String payload = objectMapper.writeValueAsString(new OrderCreatedEvent(saved.getId(), OrderView.from(order)));
-            saved.updatePayload(payload);
-        } catch (JsonProcessingException e) {
-            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "이벤트 직렬화에 실패했습니다.");
+            return future.get(awaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "주문 처리 중 오류가 발생했습니다.");
+        } catch (TimeoutException ex) {
+            // 처리가 늦게 커밋될 수 있으므로 같은 Idempotency-Key로 재시도하면 결과를 확인할 수 있다.
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "주문 처리가 지연되고 있습니다. 같은 Idempotency-Key로 다시 시도해 주세요.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "주문 처리 중 오류가 발생했습니다.");
+        }
+    }
+
+    private void releaseIfReserved(boolean preReserved, Map<Long, Long> demand) {
+        if (preReserved) {
+            stockPreReservationService.release(demand);
         }
     }
 
+    /**
+     * 같은 키로 처리 중인 요청의 해시와 결과이다. 단일 인스턴스 안에서만 합치며, 인스턴스 간 중복은 DB 유니크 제약이 막는다.
+     */
+    private record InFlightOrder(String requestHash, CompletableFuture<OrderView> result) {
+    }
+
     private void ensureOwner(Order order, Long userId) {
         if (!order.getUserId().equals(userId)) {
             throw new BusinessException(ErrorCode.AUTHORIZATION_ERROR, "본인 주문만 접근할 수 있습니다.");
@@ -0,0 +1,104 @@
+package com.example.portfolio.order.application;
+
+import com.example.portfolio.common.messaging.BinaryEventReader;
+import com.example.portfolio.common.messaging.BinaryEventWriter;
+import com.example.portfolio.common.messaging.EventCodec;
+import com.example.portfolio.common.messaging.EventSchemaRegistry;
+import com.example.portfolio.order.domain.OrderStatus;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * ORDER_CREATED 이벤트의 바이너리 코덱이다. 필드 배치는 event-schemas.json의 ORDER_CREATED 버전과 일치해야 한다.
+ * 필드를 바꿀 때는 스키마 파일에 새 버전을 추가하고, 이전 버전 읽기는 {@link #decode(byte[])}에 남겨 둔다.
+ */
+@Component
+public class OrderCreatedEventBinaryCodec implements EventCodec<OrderCreatedEvent> {
+
+    static final String EVENT_TYPE = "ORDER_CREATED";
+    static final int VERSION = 1;
+    static final List<String> FIELDS = List.of(
+            "eventId:int64",
+            "order.id:int64",
+            "order.userId:int64",
+            "order.status:string",
+            "order.totalAmount:decimal",
+            "order.idempotencyKey:string",
+            "order.createdAt:timestamp",
+            "order.items:array",
+            "order.items[].productId:int64",
+            "order.items[].quantity:int32",
+            "order.items[].price:decimal",
+            "order.items[].lineAmount:decimal");
+
+    private final EventSchemaRegistry schemaRegistry;
+
+    public OrderCreatedEventBinaryCodec(EventSchemaRegistry schemaRegistry) {
+        this.schemaRegistry = schemaRegistry;
+        schemaRegistry.requireLatest(EVENT_TYPE, VERSION, FIELDS);
+    }
+
+    @Override
+    public String eventType() {
+        return EVENT_TYPE;
+    }
+
+    @Override
+    public Class<OrderCreatedEvent> eventClass() {
+        return OrderCreatedEvent.class;
+    }
+
+    @Override
+    public byte[] encode(OrderCreatedEvent event) {
+        OrderView order = event.order();
+        BinaryEventWriter writer = new BinaryEventWriter(VERSION)
+                .writeLong(event.eventId())
+                .writeLong(order.id())
+                .writeLong(order.userId())
+                .writeString(order.status() == null ? null : order.status().name())
+                .writeDecimal(order.totalAmount())
+                .writeString(order.idempotencyKey())
+                .writeTimestamp(order.createdAt())
+                .writeInt(order.items().size());
+        for (OrderItemView item : order.items()) {
+            writer.writeLong(item.productId())
+                    .writeInt(item.quantity())
+                    .writeDecimal(item.price())
+                    .writeDecimal(item.lineAmount());
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public OrderCreatedEvent decode(byte[] payload) {
+        BinaryEventReader reader = new BinaryEventReader(payload);
+        if (!schemaRegistry.isKnown(EVENT_TYPE, reader.version())) {
+            throw new IllegalArgumentException("등록되지 않은 스키마 버전입니다: type=" + EVENT_TYPE + ", version=" + reader.version());
+        }
+        return switch (reader.version()) {
+            case 1 -> readV1(reader);
+            default -> throw new IllegalArgumentException("지원하지 않는 스키마 버전입니다: " + reader.version());
+        };
+    }
+
+    private OrderCreatedEvent readV1(BinaryEventReader reader) {
+        long eventId = reader.readLong();
+        long orderId = reader.readLong();
+        long userId = reader.readLong();
+        String status = reader.readString();
+        BigDecimal totalAmount = reader.readDecimal();
+        String idempotencyKey = reader.readString();
+        OffsetDateTime createdAt = reader.readTimestamp();
+        int itemCount = reader.readInt();
+        List<OrderItemView> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemView(reader.readLong(), reader.readInt(), reader.readDecimal(), reader.readDecimal()));
+        }
+        OrderView order = new OrderView(orderId, userId, status == null ? null : OrderStatus.valueOf(status),
+                totalAmount, idempotencyKey, createdAt, List.copyOf(items));
+        return new OrderCreatedEvent(eventId, order);
+    }
+}
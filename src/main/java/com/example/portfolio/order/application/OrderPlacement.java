@@ -0,0 +1,7 @@
+package com.example.portfolio.order.application;
+
+/**
+ * 주문 쓰기 트랜잭션의 결과 주문과, 기존 주문을 재생했는지 여부다.
+ */
+record OrderPlacement(OrderView order, boolean replayed) {
+}
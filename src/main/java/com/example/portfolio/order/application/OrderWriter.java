@@ -0,0 +1,300 @@
+package com.example.portfolio.order.application;
+
+import com.example.portfolio.common.exception.BusinessException;
+import com.example.portfolio.common.exception.ErrorCode;
+import com.example.portfolio.common.persistence.PooledIdAllocator;
+import com.example.portfolio.inventory.application.StockLedgerService;
+import com.example.portfolio.inventory.application.StockReservationResult;
+import com.example.portfolio.inventory.application.StockReservationService;
+import com.example.portfolio.inventory.domain.Product;
+import com.example.portfolio.inventory.infra.ProductRepository;
+import com.example.portfolio.order.domain.IdempotencyRecord;
+import com.example.portfolio.order.domain.Order;
+import com.example.portfolio.order.domain.OrderItem;
+import com.example.portfolio.order.domain.OutboxEvent;
+import com.example.portfolio.order.infra.IdempotencyRecordRepository;
+import com.example.portfolio.order.infra.OrderRepository;
+import com.example.portfolio.order.infra.OutboxEventRepository;
+import com.example.portfolio.order.infra.OutboxFastPathPublisher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 주문/아이템 저장, 재고 차감과 원장 기록, outbox 및 멱등 레코드 적재를 호출 측이 연 트랜잭션 안에서 수행한다.
+ * outbox 이벤트는 커밋 직후 {@link OutboxFastPathPublisher}로 바로 발행되고, 놓친 이벤트는 폴러가 발행한다.
+ * 트랜잭션 경계와 재시도는 {@link OrderApplicationService}와 {@link GroupCommitOrderWriter}가 정한다.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class OrderWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderWriter.class);
+    private static final String MISMATCHED_REPLAY_MESSAGE = "같은 Idempotency-Key로 다른 요청이 이미 처리되었습니다.";
+    private static final String OUTBOX_SEQUENCE = "outbox_events";
+
+    private final OrderRepository orderRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxFastPathPublisher outboxFastPathPublisher;
+    private final ProductRepository productRepository;
+    private final StockReservationService stockReservationService;
+    private final StockLedgerService stockLedgerService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final PooledIdAllocator idAllocator;
+    private final ObjectMapper objectMapper;
+    private final int idempotencyRetentionDays;
+
+    public OrderWriter(
+            OrderRepository orderRepository,
+            OutboxEventRepository outboxEventRepository,
+            OutboxFastPathPublisher outboxFastPathPublisher,
+            ProductRepository productRepository,
+            StockReservationService stockReservationService,
+            StockLedgerService stockLedgerService,
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            PooledIdAllocator idAllocator,
+            ObjectMapper objectMapper,
+            @Value("${app.order.idempotency.retention-days:7}") int idempotencyRetentionDays) {
+        this.orderRepository = orderRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxFastPathPublisher = outboxFastPathPublisher;
+        this.productRepository = productRepository;
+        this.stockReservationService = stockReservationService;
+        this.stockLedgerService = stockLedgerService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.idAllocator = idAllocator;
+        this.objectMapper = objectMapper;
+        this.idempotencyRetentionDays = idempotencyRetentionDays;
+    }
+
+    /**
+     * 같은 키의 멱등 레코드가 있으면 재생하고, 없으면 재고를 차감한 뒤 주문, outbox 이벤트, 멱등 레코드를 저장한다.
+     */
+    public OrderPlacement placeOrder(CreateOrderCommand command) {
+        Optional<OrderView> replayed = findReplay(command);
+        if (replayed.isPresent()) {
+            return new OrderPlacement(replayed.get(), true);
+        }
+        Order order = buildOrder(command, loadProducts(command.items()));
+        Map<Long, Long> demand = demandOf(command.items());
+        reserveStock(demand);
+        Order saved = orderRepository.save(order);
+        stockLedgerService.recordOrder(saved.getId(), demand);
+        OutboxEvent outbox = outboxEventRepository.save(outboxOf(saved));
+        outboxFastPathPublisher.publishAfterCommit(List.of(outbox.getId()));
+        OrderView view = OrderView.from(saved);
+        idempotencyRecordRepository.save(recordOf(command, view));
+        return new OrderPlacement(view, false);
+    }
+
+    /**
+     * 멱등 레코드에 저장된 응답을 재생한다. 요청 해시가 다르면 409로 거절한다.
+     */
+    public Optional<OrderView> findReplay(CreateOrderCommand command) {
+        return idempotencyRecordRepository.findById(command.idempotencyKey())
+                .map(record -> {
+                    ensureSameRequest(record.getRequestHash(), command);
+                    return replayView(record);
+                });
+    }
+
+    /**
+     * 멱등 레코드가 이미 있는 키다. 배치 주문에서 재생될 주문을 선예약 대상에서 빼는 데 쓴다.
+     */
+    public Set<String> findStoredKeys(List<CreateOrderCommand> commands) {
+        List<String> keys = commands.stream().map(CreateOrderCommand::idempotencyKey).distinct().toList();
+        return idempotencyRecordRepository.findAllById(keys).stream()
+                .map(IdempotencyRecord::getIdempotencyKey)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 여러 주문을 한 트랜잭션에서 처리한다. 상품 조회, 가용 수량 조회와 합산 조건부 차감을 배치 전체에 대해 한 번씩만 수행하고,
+     * 주문마다 생성/재생/거절 결과를 요청 순서대로 반환한다. 같은 키가 반복되면 두 번째부터는 재생으로 분류하되,
+     * 저장된 레코드나 배치 안의 첫 요청과 본문이 다르면 단건 요청처럼 409로 거절한다.
+     * 재고 행은 미리 잠그지 않고 잠금 없이 읽은 수량으로 배분하므로, 합산 차감이 모자라면 그 사이 다른 주문이 먼저 차감한 것으로 보고
+     * 재시도 가능한 충돌로 알려 새 스냅샷에서 다시 배분하게 한다.
+     */
+    public List<BatchOrderResult> placeOrders(List<CreateOrderCommand> commands) {
+        List<String> keys = commands.stream().map(CreateOrderCommand::idempotencyKey).distinct().toList();
+        Map<String, IdempotencyRecord> existing = idempotencyRecordRepository.findAllById(keys).stream()
+                .collect(Collectors.toMap(IdempotencyRecord::getIdempotencyKey, Function.identity()));
+        List<OrderLineCommand> allLines = commands.stream().flatMap(command -> command.items().stream()).toList();
+        Map<Long, Product> productMap = loadProducts(allLines);
+        Map<Long, Long> available = new HashMap<>(stockReservationService.availableQuantities(productMap.keySet()));
+
+        Map<String, Order> placed = new LinkedHashMap<>();
+        Map<String, BatchOrderResult> decided = new HashMap<>();
+        Map<Long, Long> combinedDemand = new LinkedHashMap<>();
+        Map<String, CreateOrderCommand> commandByKey = new HashMap<>();
+        commands.forEach(command -> commandByKey.putIfAbsent(command.idempotencyKey(), command));
+        for (CreateOrderCommand command : commands) {
+            String key = command.idempotencyKey();
+            if (existing.containsKey(key) || placed.containsKey(key) || decided.containsKey(key)) {
+                continue;
+            }
+            Map<Long, Long> demand = demandOf(command.items());
+            List<Long> missing = demand.keySet().stream().filter(id -> !productMap.containsKey(id)).toList();
+            if (!missing.isEmpty()) {
+                decided.put(key, BatchOrderResult.rejected(key, ErrorCode.RESOURCE_NOT_FOUND, "상품을 찾을 수 없습니다. productIds=" + missing));
+                continue;
+            }
+            List<Long> shortIds = demand.entrySet().stream()
+                    .filter(line -> available.getOrDefault(line.getKey(), 0L) < line.getValue())
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!shortIds.isEmpty()) {
+                decided.put(key, BatchOrderResult.rejected(key, ErrorCode.BUSINESS_RULE_VIOLATION, "재고가 부족합니다. productIds=" + shortIds));
+                continue;
+            }
+            demand.forEach((productId, quantity) -> {
+                available.merge(productId, -quantity, Long::sum);
+                combinedDemand.merge(productId, quantity, Long::sum);
+            });
+            placed.put(key, buildOrder(command, productMap));
+        }
+
+        if (!combinedDemand.isEmpty()) {
+            StockReservationResult reserved = stockReservationService.reserve(combinedDemand);
+            if (!reserved.isFullyReserved()) {
+                throw new ConcurrencyFailureException("배분 이후 재고가 바뀌었습니다. productIds=" + reserved.shortProductIds());
+            }
+        }
+        orderRepository.saveAll(placed.values());
+        placed.values().forEach(order ->
+                stockLedgerService.recordOrder(order.getId(), demandOf(commandByKey.get(order.getIdempotencyKey()).items())));
+        List<OutboxEvent> outbox = placed.values().stream().map(this::outboxOf).toList();
+        outboxEventRepository.saveAll(outbox);
+        outboxFastPathPublisher.publishAfterCommit(outbox.stream().map(OutboxEvent::getId).toList());
+        idempotencyRecordRepository.saveAll(placed.values().stream()
+                .map(order -> recordOf(commandByKey.get(order.getIdempotencyKey()), OrderView.from(order)))
+                .toList());
+
+        Map<String, BatchOrderResult> replays = new HashMap<>();
+        Set<String> reported = new HashSet<>();
+        return commands.stream()
+                .map(command -> {
+                    String key = command.idempotencyKey();
+                    boolean first = reported.add(key);
+                    IdempotencyRecord stored = existing.get(key);
+                    String expectedHash = stored != null ? stored.getRequestHash() : commandByKey.get(key).requestHash();
+                    if (!isSameRequest(expectedHash, command)) {
+                        return BatchOrderResult.rejected(key, ErrorCode.CONFLICT_ERROR, MISMATCHED_REPLAY_MESSAGE);
+                    }
+                    if (stored != null) {
+                        return replays.computeIfAbsent(key, ignored -> BatchOrderResult.replayed(replayView(stored)));
+                    }
+                    if (!placed.containsKey(key)) {
+                        return decided.get(key);
+                    }
+                    OrderView view = OrderView.from(placed.get(key));
+                    return first ? BatchOrderResult.created(view) : BatchOrderResult.replayed(view);
+                })
+                .toList();
+    }
+
+    /**
+     * 같은 상품 라인을 합산한 수량이다.
+     */
+    static Map<Long, Long> demandOf(List<OrderLineCommand> items) {
+        Map<Long, Long> demand = new LinkedHashMap<>();
+        items.forEach(item -> demand.merge(item.productId(), (long) item.quantity(), Long::sum));
+        return demand;
+    }
+
+    /**
+     * 같은 키로 본문이 다른 요청이 재생되는 것을 막는다. 해시가 없는 과거 주문은 검사하지 않는다.
+     */
+    static void ensureSameRequest(String storedRequestHash, CreateOrderCommand command) {
+        if (!isSameRequest(storedRequestHash, command)) {
+            throw new BusinessException(ErrorCode.CONFLICT_ERROR, MISMATCHED_REPLAY_MESSAGE);
+        }
+    }
+
+    private static boolean isSameRequest(String storedRequestHash, CreateOrderCommand command) {
+        return storedRequestHash == null || storedRequestHash.equals(command.requestHash());
+    }
+
+    private Order buildOrder(CreateOrderCommand command, Map<Long, Product> productMap) {
+        Order order = Order.create(command.userId(), command.idempotencyKey(), command.requestHash());
+        for (OrderLineCommand itemCommand : command.items()) {
+            Product product = productMap.get(itemCommand.productId());
+            if (product == null) {
+                throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "상품을 찾을 수 없습니다.");
+            }
+            order.addItem(OrderItem.of(product.getId(), itemCommand.quantity(), product.getPrice()));
+        }
+        return order;
+    }
+
+    /**
+     * 조건부 차감으로 재고를 예약하고, 부족한 상품이 있으면 주문 전체를 실패시킨다.
+     */
+    private void reserveStock(Map<Long, Long> demand) {
+        StockReservationResult result = stockReservationService.reserve(demand);
+        if (!result.isFullyReserved()) {
+            throw new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION,
+                    "재고가 부족합니다. productIds=" + result.shortProductIds());
+        }
+    }
+
+    private IdempotencyRecord recordOf(CreateOrderCommand command, OrderView view) {
+        try {
+            return IdempotencyRecord.completed(command.idempotencyKey(), command.requestHash(), view.id(),
+                    objectMapper.writeValueAsString(view), OffsetDateTime.now().plusDays(idempotencyRetentionDays));
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "멱등 응답 직렬화에 실패했습니다.");
+        }
+    }
+
+    /**
+     * 저장된 응답을 우선 사용하고, 응답이 없는 이관 레코드는 주문을 다시 읽어 재구성한다.
+     */
+    private OrderView replayView(IdempotencyRecord record) {
+        if (record.getResponse() != null) {
+            try {
+                return objectMapper.readValue(record.getResponse(), OrderView.class);
+            } catch (JsonProcessingException e) {
+                log.warn("멱등 응답 역직렬화 실패, 주문으로 재구성: key={}", record.getIdempotencyKey(), e);
+            }
+        }
+        return orderRepository.findById(record.getOrderId())
+                .map(OrderView::from)
+                .orElseThrow(() -> new BusinessException(ErrorCode.INTERNAL_ERROR, "주문 처리 중 오류가 발생했습니다."));
+    }
+
+    private Map<Long, Product> loadProducts(List<OrderLineCommand> items) {
+        List<Long> productIds = items.stream().map(OrderLineCommand::productId).distinct().toList();
+        return productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    /**
+     * 이벤트 ID를 먼저 할당받아 최종 페이로드로 만든다. 한 번의 INSERT로 저장되고 주문 INSERT와 같은 배치에 실린다.
+     */
+    private OutboxEvent outboxOf(Order order) {
+        try {
+            long eventId = idAllocator.next(OUTBOX_SEQUENCE);
+            String payload = objectMapper.writeValueAsString(new OrderCreatedEvent(eventId, OrderView.from(order)));
+            return OutboxEvent.ready(eventId, "ORDER", order.getId().toString(), "ORDER_CREATED", payload);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "이벤트 직렬화에 실패했습니다.");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.portfolio.order.application;
+
+import com.example.portfolio.order.infra.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.OffsetDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 보존 기간이 지난 PUBLISHED outbox 이벤트를 published_at 범위 삭제로 청크 단위 정리한다.
+ * 테이블과 (status, available_at) 인덱스가 발행 대기 행 수준으로 유지되어 폴링 비용이 누적 주문 수와 무관해진다.
+ */
+@Component
+public class OutboxHousekeepingJob {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxHousekeepingJob.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Counter deletedCounter;
+    private final Timer purgeTimer;
+    private final int retentionHours;
+    private final int chunkSize;
+
+    public OutboxHousekeepingJob(
+            OutboxEventRepository outboxEventRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.retention.hours:72}") int retentionHours,
+            @Value("${app.outbox.retention.purge-chunk-size:1000}") int chunkSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.deletedCounter = Counter.builder("outbox.purge.deleted").register(meterRegistry);
+        this.purgeTimer = Timer.builder("outbox.purge.duration").register(meterRegistry);
+        this.retentionHours = retentionHours;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.outbox.retention.purge-cron:0 */10 * * * *}")
+    public void purgePublished() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minusHours(retentionHours);
+        int purged = purgeTimer.record(() -> {
+            int total = 0;
+            int deleted;
+            do {
+                deleted = outboxEventRepository.deletePublishedBefore(cutoff, chunkSize);
+                total += deleted;
+                deletedCounter.increment(deleted);
+            } while (deleted == chunkSize);
+            return total;
+        });
+        if (purged > 0) {
+            log.info("발행 완료 outbox 이벤트 정리 완료: count={}, before={}", purged, cutoff);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.portfolio.order.application;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 보관 이벤트 일괄 처리 대상을 고르는 조건이다. null인 항목은 조건에서 빠진다.
+ */
+public record OutboxParkedEventFilter(String eventType, String aggregateId, OffsetDateTime parkedBefore) {
+
+    public boolean isEmpty() {
+        return eventType == null && aggregateId == null && parkedBefore == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.portfolio.order.application;
+
+import java.util.List;
+
+/**
+ * 페이지 단위 보관 이벤트 목록이다.
+ */
+public record OutboxParkedEventListView(
+        List<OutboxParkedEventView> items,
+        long totalElements,
+        int totalPages,
+        int page,
+        int size) {
+}
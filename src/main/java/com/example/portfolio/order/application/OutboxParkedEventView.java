@@ -0,0 +1,18 @@
+package com.example.portfolio.order.application;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 보관된 outbox 이벤트 조회 결과다.
+ */
+public record OutboxParkedEventView(
+        Long id,
+        String aggregateType,
+        String aggregateId,
+        String eventType,
+        String payload,
+        int retries,
+        String status,
+        OffsetDateTime createdAt,
+        OffsetDateTime parkedAt) {
+}
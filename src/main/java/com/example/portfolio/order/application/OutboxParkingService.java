@@ -0,0 +1,74 @@
+package com.example.portfolio.order.application;
+
+import com.example.portfolio.common.exception.BusinessException;
+import com.example.portfolio.common.exception.ErrorCode;
+import com.example.portfolio.order.domain.OutboxParkedEvent;
+import com.example.portfolio.order.domain.OutboxParkedStatus;
+import com.example.portfolio.order.infra.OutboxParkedEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 최대 재시도 횟수를 넘겨 보관된 outbox 이벤트를 조회하고, 조건별로 재발행 요청하거나 폐기한다.
+ * 재발행 요청은 상태만 바꾸고 실제 outbox 복귀는 {@link OutboxReplayJob}이 초당 처리량을 제한해 수행한다.
+ */
+@Service
+public class OutboxParkingService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxParkingService.class);
+
+    private final OutboxParkedEventRepository parkedEventRepository;
+
+    public OutboxParkingService(OutboxParkedEventRepository parkedEventRepository) {
+        this.parkedEventRepository = parkedEventRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public OutboxParkedEventListView list(OutboxParkedStatus status, OutboxParkedEventFilter filter, int page, int size) {
+        Page<OutboxParkedEvent> result = parkedEventRepository.search(
+                status, filter.eventType(), filter.aggregateId(), filter.parkedBefore(),
+                PageRequest.of(page, size, Sort.by("parkedAt").ascending()));
+        return new OutboxParkedEventListView(
+                result.getContent().stream().map(OutboxParkingService::toView).toList(),
+                result.getTotalElements(),
+                result.getTotalPages(),
+                page,
+                size);
+    }
+
+    public int requestReplay(OutboxParkedEventFilter filter) {
+        int requested = parkedEventRepository.requestReplay(filter.eventType(), filter.aggregateId(), filter.parkedBefore());
+        log.info("보관 outbox 이벤트 재발행 요청: filter={}, count={}", filter, requested);
+        return requested;
+    }
+
+    /**
+     * 조건에 맞는 PARKED 이벤트를 삭제한다. 실수로 전체를 지우지 않도록 조건이 하나 이상 있어야 한다.
+     */
+    public int discard(OutboxParkedEventFilter filter) {
+        if (filter.isEmpty()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "폐기할 이벤트 조건을 하나 이상 지정해야 합니다.");
+        }
+        int discarded = parkedEventRepository.discard(filter.eventType(), filter.aggregateId(), filter.parkedBefore());
+        log.warn("보관 outbox 이벤트 폐기: filter={}, count={}", filter, discarded);
+        return discarded;
+    }
+
+    private static OutboxParkedEventView toView(OutboxParkedEvent event) {
+        return new OutboxParkedEventView(
+                event.getId(),
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getEventType(),
+                event.getPayload(),
+                event.getRetries(),
+                event.getStatus().name(),
+                event.getCreatedAt(),
+                event.getParkedAt());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.portfolio.order.application;
+
+import com.example.portfolio.common.transaction.RetryingTransactionExecutor;
+import com.example.portfolio.order.infra.OutboxParkedEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재발행 요청된 보관 이벤트를 실행마다 최대 batch-size건씩 READY로 outbox에 되돌린다.
+ * 실행 간격과 배치 크기로 재발행 속도를 제한해, 대량 재발행이 신규 이벤트 발행을 밀어내지 않게 한다.
+ */
+@Component
+public class OutboxReplayJob {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxReplayJob.class);
+
+    private final OutboxParkedEventRepository parkedEventRepository;
+    private final RetryingTransactionExecutor transactionExecutor;
+    private final Counter replayedCounter;
+    private final int batchSize;
+
+    public OutboxReplayJob(
+            OutboxParkedEventRepository parkedEventRepository,
+            RetryingTransactionExecutor transactionExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.replay.batch-size:100}") int batchSize) {
+        this.parkedEventRepository = parkedEventRepository;
+        this.transactionExecutor = transactionExecutor;
+        this.replayedCounter = Counter.builder("outbox.replay.restored").register(meterRegistry);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.replay.interval-ms:1000}")
+    public void replayRequested() {
+        int restored = transactionExecutor.execute("outbox.replay", status -> {
+            List<Long> ids = parkedEventRepository.findReplayRequestedIdsForUpdate(batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            int moved = parkedEventRepository.restoreToOutbox(ids, OffsetDateTime.now());
+            parkedEventRepository.deleteByIdIn(ids);
+            return moved;
+        });
+        if (restored > 0) {
+            replayedCounter.increment(restored);
+            log.info("보관 outbox 이벤트 재발행 대기열 복귀: count={}", restored);
+        }
+    }
+}
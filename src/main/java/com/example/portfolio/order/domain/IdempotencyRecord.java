@@ -0,0 +1,114 @@
+package com.example.portfolio.order.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.OffsetDateTime;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Idempotency-Key별 요청 해시와 직렬화된 응답을 보존 기간 동안 보관하는 엔티티다.
+ * 키를 직접 할당하므로 신규 저장 시 merge 대신 persist가 호출되도록 {@link Persistable}을 구현한다.
+ */
+@Entity
+@Table(name = "idempotency_records")
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String idempotencyKey;
+
+    @Column(length = 128)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private IdempotencyStatus status;
+
+    @Column
+    private Long orderId;
+
+    @Lob
+    @Column(columnDefinition = "json")
+    private String response;
+
+    @CreationTimestamp
+    private OffsetDateTime createdAt;
+
+    @Column(nullable = false)
+    private OffsetDateTime expiresAt;
+
+    @Transient
+    private boolean persisted;
+
+    protected IdempotencyRecord() {
+    }
+
+    private IdempotencyRecord(String idempotencyKey, String requestHash, Long orderId, String response, OffsetDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.status = IdempotencyStatus.COMPLETED;
+        this.orderId = orderId;
+        this.response = response;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * 주문과 같은 트랜잭션에서 완료된 응답을 기록한다.
+     */
+    public static IdempotencyRecord completed(String idempotencyKey, String requestHash, Long orderId, String response, OffsetDateTime expiresAt) {
+        return new IdempotencyRecord(idempotencyKey, requestHash, orderId, response, expiresAt);
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public IdempotencyStatus getStatus() {
+        return status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
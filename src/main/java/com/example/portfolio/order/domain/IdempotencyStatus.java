@@ -0,0 +1,8 @@
+package com.example.portfolio.order.domain;
+
+/**
+ * 멱등 키로 기록된 요청의 처리 결과 상태다.
+ */
+public enum IdempotencyStatus {
+    COMPLETED
+}
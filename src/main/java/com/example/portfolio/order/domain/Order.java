@@ -2,6 +2,7 @@ package com.example.portfolio.order.domain;
 
 import com.example.portfolio.common.exception.BusinessException;
 import com.example.portfolio.common.exception.ErrorCode;
+import com.example.portfolio.common.persistence.PooledIdAllocator;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
@@ -15,12 +16,12 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 /**
@@ -31,7 +32,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_id")
+    @TableGenerator(name = "orders_id", table = PooledIdAllocator.SEQUENCE_TABLE, pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "orders", allocationSize = PooledIdAllocator.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -44,7 +47,7 @@ public class Order {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal totalAmount;
 
-    @Column(nullable = false, unique = true, length = 64)
+    @Column(nullable = false, length = 64)
     private String idempotencyKey;
 
     @Column(length = 128)
@@ -53,7 +56,7 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<OrderItem> items = new ArrayList<>();
 
-    @CreationTimestamp
+    @Column(updatable = false)
     private OffsetDateTime createdAt;
 
     @UpdateTimestamp
@@ -68,6 +71,7 @@ public class Order {
         this.requestHash = requestHash;
         this.status = OrderStatus.CREATED;
         this.totalAmount = BigDecimal.ZERO;
+        this.createdAt = OffsetDateTime.now();
     }
 
     /**
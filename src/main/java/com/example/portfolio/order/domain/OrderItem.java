@@ -1,5 +1,6 @@
 package com.example.portfolio.order.domain;
 
+import com.example.portfolio.common.persistence.PooledIdAllocator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -9,6 +10,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.math.BigDecimal;
 
 /**
@@ -19,7 +21,9 @@ import java.math.BigDecimal;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_items_id")
+    @TableGenerator(name = "order_items_id", table = PooledIdAllocator.SEQUENCE_TABLE, pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "order_items", allocationSize = PooledIdAllocator.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
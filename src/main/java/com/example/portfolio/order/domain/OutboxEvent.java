@@ -4,23 +4,25 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.time.OffsetDateTime;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 /**
  * 주문 생성 시 Kafka 발행을 보장하기 위한 Outbox 엔티티다.
+ * 페이로드에 이벤트 ID가 들어가므로 식별자를 저장 전에 미리 할당받고, 신규 저장이 persist로 처리되도록 {@link Persistable}을 구현한다.
  */
 @Entity
 @Table(name = "outbox_events")
-public class OutboxEvent {
+public class OutboxEvent implements Persistable<Long> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Column(nullable = false, length = 64)
@@ -51,10 +53,17 @@ public class OutboxEvent {
     @Column
     private OffsetDateTime publishedAt;
 
+    @Column(length = 64)
+    private String claimedBy;
+
+    @Transient
+    private boolean persisted;
+
     protected OutboxEvent() {
     }
 
-    private OutboxEvent(String aggregateType, String aggregateId, String eventType, String payload) {
+    private OutboxEvent(Long id, String aggregateType, String aggregateId, String eventType, String payload) {
+        this.id = id;
         this.aggregateType = aggregateType;
         this.aggregateId = aggregateId;
         this.eventType = eventType;
@@ -64,37 +73,28 @@ public class OutboxEvent {
     }
 
     /**
-     * 지정된 페이로드로 Outbox 이벤트를 생성한다.
+     * 미리 할당받은 ID와 최종 페이로드로 Outbox 이벤트를 생성한다.
      */
-    public static OutboxEvent ready(String aggregateType, String aggregateId, String eventType, String payload) {
-        return new OutboxEvent(aggregateType, aggregateId, eventType, payload);
+    public static OutboxEvent ready(Long id, String aggregateType, String aggregateId, String eventType, String payload) {
+        return new OutboxEvent(id, aggregateType, aggregateId, eventType, payload);
     }
 
-    public void updatePayload(String payload) {
-        this.payload = payload;
-    }
-
-    /**
-     * 발행 성공 시 상태와 발행 시각을 기록한다.
-     */
-    public void markPublished() {
-        this.status = OutboxStatus.PUBLISHED;
-        this.publishedAt = OffsetDateTime.now();
-    }
-
-    /**
-     * 실패 시 재시도 횟수를 늘리고 다음 가용 시각을 갱신한다.
-     */
-    public void markFailedWithBackoff() {
-        this.status = OutboxStatus.FAILED;
-        this.retries += 1;
-        this.availableAt = OffsetDateTime.now().plusSeconds(Math.min(60, retries * 5L));
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
     }
 
+    @Override
     public Long getId() {
         return id;
     }
 
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
     public String getAggregateType() {
         return aggregateType;
     }
@@ -123,7 +123,15 @@ public class OutboxEvent {
         return availableAt;
     }
 
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
     public OffsetDateTime getPublishedAt() {
         return publishedAt;
     }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
 }
@@ -0,0 +1,84 @@
+package com.example.portfolio.order.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+
+/**
+ * 최대 재시도 횟수를 넘겨 발행 대상에서 빠진 outbox 이벤트다. 행 이동은 네이티브 쿼리로 하며 엔티티는 조회에만 쓴다.
+ */
+@Entity
+@Table(name = "outbox_parked_events")
+public class OutboxParkedEvent {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String aggregateType;
+
+    @Column(nullable = false, length = 64)
+    private String aggregateId;
+
+    @Column(nullable = false, length = 64)
+    private String eventType;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private int retries;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OutboxParkedStatus status;
+
+    @Column
+    private OffsetDateTime createdAt;
+
+    @Column(nullable = false)
+    private OffsetDateTime parkedAt;
+
+    protected OutboxParkedEvent() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public int getRetries() {
+        return retries;
+    }
+
+    public OutboxParkedStatus getStatus() {
+        return status;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getParkedAt() {
+        return parkedAt;
+    }
+}
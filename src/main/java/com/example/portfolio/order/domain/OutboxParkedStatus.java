@@ -0,0 +1,9 @@
+package com.example.portfolio.order.domain;
+
+/**
+ * 보관된 outbox 이벤트의 처리 상태다.
+ */
+public enum OutboxParkedStatus {
+    PARKED,
+    REPLAY_REQUESTED
+}
@@ -0,0 +1,23 @@
+package com.example.portfolio.order.infra;
+
+import com.example.portfolio.order.domain.IdempotencyRecord;
+import java.time.OffsetDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 멱등 레코드를 저장하고 만료분을 정리하는 저장소다.
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * expires_at 인덱스 범위를 따라 만료 레코드를 최대 limit건 삭제한다. 청크마다 별도 트랜잭션으로 실행된다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_records WHERE expires_at < :now ORDER BY expires_at LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+}
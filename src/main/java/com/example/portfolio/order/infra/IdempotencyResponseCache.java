@@ -0,0 +1,62 @@
+package com.example.portfolio.order.infra;
+
+import com.example.portfolio.order.application.IdempotentOrderResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 완료된 주문 응답을 Idempotency-Key 기준으로 Redis에 보관한다.
+ * Redis 장애 시에는 캐시 미스로 취급해 DB 조회 경로로 진행한다.
+ */
+@Component
+public class IdempotencyResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyResponseCache.class);
+    private static final String KEY_PREFIX = "idempotency:order:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public IdempotencyResponseCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.order.idempotency.cache-ttl-seconds:86400}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public Optional<IdempotentOrderResponse> find(String idempotencyKey) {
+        try {
+            String cached = redisTemplate.opsForValue().get(key(idempotencyKey));
+            if (cached == null) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readValue(cached, IdempotentOrderResponse.class));
+        } catch (DataAccessException | JsonProcessingException ex) {
+            log.warn("멱등 응답 캐시 조회 실패, DB 경로로 진행: key={}", idempotencyKey, ex);
+            return Optional.empty();
+        }
+    }
+
+    public void save(String idempotencyKey, IdempotentOrderResponse response) {
+        try {
+            redisTemplate.opsForValue().set(key(idempotencyKey), objectMapper.writeValueAsString(response), ttl);
+        } catch (DataAccessException | JsonProcessingException ex) {
+            log.warn("멱등 응답 캐시 저장 실패: key={}", idempotencyKey, ex);
+        }
+    }
+
+    private String key(String idempotencyKey) {
+        return KEY_PREFIX + idempotencyKey;
+    }
+}
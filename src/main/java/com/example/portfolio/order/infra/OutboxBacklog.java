@@ -0,0 +1,17 @@
+package com.example.portfolio.order.infra;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 마지막으로 샘플링한 outbox 백로그 상태다. 발행 대기 이벤트가 없으면 oldestAgeSeconds는 0이다.
+ */
+public record OutboxBacklog(long ready, long failed, long oldestAgeSeconds, OffsetDateTime sampledAt) {
+
+    public long pending() {
+        return ready + failed;
+    }
+
+    static OutboxBacklog empty() {
+        return new OutboxBacklog(0, 0, 0, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.portfolio.order.infra;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/outbox}에서 마지막으로 샘플링한 백로그 상태를 보여준다.
+ */
+@Component
+@Endpoint(id = "outbox")
+public class OutboxBacklogEndpoint {
+
+    private final OutboxBacklogMonitor backlogMonitor;
+
+    public OutboxBacklogEndpoint(OutboxBacklogMonitor backlogMonitor) {
+        this.backlogMonitor = backlogMonitor;
+    }
+
+    @ReadOperation
+    public OutboxBacklog backlog() {
+        return backlogMonitor.current();
+    }
+}
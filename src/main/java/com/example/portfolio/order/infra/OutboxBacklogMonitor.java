@@ -0,0 +1,67 @@
+package com.example.portfolio.order.infra;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * outbox 백로그를 주기적으로 한 번 집계해 두고 게이지와 actuator 엔드포인트는 그 스냅샷을 읽는다.
+ * 스크레이프마다 DB를 조회하지 않으며, 집계 쿼리는 (status, created_at) 인덱스만 읽는다.
+ */
+@Component
+public class OutboxBacklogMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxBacklogMonitor.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AtomicReference<OutboxBacklog> snapshot = new AtomicReference<>(OutboxBacklog.empty());
+
+    public OutboxBacklogMonitor(OutboxEventRepository outboxEventRepository, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        Gauge.builder("outbox.backlog", snapshot, ref -> ref.get().ready())
+                .tag("status", "READY")
+                .register(meterRegistry);
+        Gauge.builder("outbox.backlog", snapshot, ref -> ref.get().failed())
+                .tag("status", "FAILED")
+                .register(meterRegistry);
+        Gauge.builder("outbox.backlog.oldest.age", snapshot, ref -> ref.get().oldestAgeSeconds())
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.metrics.sample-interval-ms:15000}")
+    public void sample() {
+        try {
+            snapshot.set(summarize(OffsetDateTime.now()));
+        } catch (RuntimeException ex) {
+            log.warn("Outbox 백로그 집계 실패, 이전 값을 유지합니다", ex);
+        }
+    }
+
+    public OutboxBacklog current() {
+        return snapshot.get();
+    }
+
+    private OutboxBacklog summarize(OffsetDateTime now) {
+        long ready = 0;
+        long failed = 0;
+        long oldestAgeSeconds = 0;
+        for (OutboxBacklogRow row : outboxEventRepository.summarizeBacklog(now)) {
+            long count = row.getCount() == null ? 0 : row.getCount();
+            if ("READY".equals(row.getStatus())) {
+                ready = count;
+            } else {
+                failed = count;
+            }
+            if (row.getOldestAgeSeconds() != null) {
+                oldestAgeSeconds = Math.max(oldestAgeSeconds, row.getOldestAgeSeconds());
+            }
+        }
+        return new OutboxBacklog(ready, failed, oldestAgeSeconds, now);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.portfolio.order.infra;
+
+/**
+ * 발행 대기 상태별 집계 결과다.
+ */
+public interface OutboxBacklogRow {
+
+    String getStatus();
+
+    Long getCount();
+
+    Long getOldestAgeSeconds();
+}
@@ -0,0 +1,17 @@
+package com.example.portfolio.order.infra;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 백로그 drain 모드 설정이다. 평소 폴링 배치가 가득 차거나 발행 대기 건수가 threshold를 넘으면 drain 모드로 전환한다.
+ */
+@ConfigurationProperties(prefix = "app.outbox.drain")
+public record OutboxDrainProperties(boolean enabled, int threshold, int batchSize, long maxDurationMs, int expediteLimit) {
+
+    public OutboxDrainProperties {
+        threshold = threshold > 0 ? threshold : 5_000;
+        batchSize = batchSize > 0 ? batchSize : 2_000;
+        maxDurationMs = maxDurationMs > 0 ? maxDurationMs : 60_000;
+        expediteLimit = expediteLimit > 0 ? expediteLimit : 50_000;
+    }
+}
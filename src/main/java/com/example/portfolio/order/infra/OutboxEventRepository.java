@@ -1,14 +1,98 @@
 package com.example.portfolio.order.infra;
 
 import com.example.portfolio.order.domain.OutboxEvent;
-import com.example.portfolio.order.domain.OutboxStatus;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Outbox 이벤트를 조회/저장하는 저장소다.
  */
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
-    List<OutboxEvent> findTop100ByStatusInAndAvailableAtBeforeOrderByCreatedAtAsc(List<OutboxStatus> statuses, OffsetDateTime availableBefore);
+
+    /**
+     * 발행 가능한 이벤트 ID를 생성 순으로 잠그며 조회한다. 다른 레플리카가 잠근 행은 건너뛴다.
+     */
+    @Query(value = "SELECT id FROM outbox_events WHERE status IN ('READY', 'FAILED') AND available_at <= :now "
+            + "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findClaimableIdsForUpdate(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    /**
+     * 커밋 직후 빠른 경로로 넘어온 이벤트 중 아직 발행 가능한 것만 잠그며 조회한다. 폴러가 이미 선점한 행은 건너뛴다.
+     */
+    @Query(value = "SELECT id FROM outbox_events WHERE id IN (:ids) AND status IN ('READY', 'FAILED') AND available_at <= :now "
+            + "ORDER BY created_at FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findClaimableIdsForUpdateIn(@Param("ids") Collection<Long> ids, @Param("now") OffsetDateTime now);
+
+    /**
+     * 잠근 이벤트에 선점자를 기록하고 선점 만료 시각까지 다른 레플리카의 조회 대상에서 뺀다.
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET claimed_by = :owner, available_at = :leaseUntil WHERE id IN (:ids)", nativeQuery = true)
+    int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("leaseUntil") OffsetDateTime leaseUntil);
+
+    /**
+     * 보내지 않은 이벤트의 선점을 풀고 지정한 시각 이후에 다시 조회되게 한다. 재시도 횟수는 늘리지 않는다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET available_at = :availableAt, claimed_by = NULL "
+            + "WHERE id IN (:ids) AND claimed_by = :owner", nativeQuery = true)
+    int release(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("availableAt") OffsetDateTime availableAt);
+
+    /**
+     * 발행에 성공한 이벤트를 한 번의 UPDATE로 PUBLISHED 처리한다. 아직 선점이 유지된 행만 갱신한다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET status = 'PUBLISHED', published_at = :now, claimed_by = NULL "
+            + "WHERE id IN (:ids) AND claimed_by = :owner", nativeQuery = true)
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("now") OffsetDateTime now);
+
+    /**
+     * 발행에 실패한 이벤트를 한 번의 UPDATE로 FAILED 처리한다. 백오프는 (retries + 1) * 5초, 최대 60초다.
+     * MySQL은 SET 절을 왼쪽부터 평가하므로 available_at을 retries 증가보다 먼저 계산한다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET available_at = DATE_ADD(:now, INTERVAL LEAST(60, (retries + 1) * 5) SECOND), "
+            + "retries = retries + 1, status = 'FAILED', claimed_by = NULL WHERE id IN (:ids) AND claimed_by = :owner", nativeQuery = true)
+    int markFailedWithBackoff(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("now") OffsetDateTime now);
+
+    /**
+     * 백오프 중인 FAILED 이벤트를 즉시 조회 대상으로 되돌린다. 선점 중인 행은 건드리지 않는다. 브로커 복구 후 drain 모드 진입 시 사용한다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET available_at = :now WHERE status = 'FAILED' AND available_at > :now "
+            + "AND claimed_by IS NULL ORDER BY available_at LIMIT :limit", nativeQuery = true)
+    int expediteFailed(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    /**
+     * 보관 테이블로 옮긴 이벤트를 삭제한다. 아직 선점이 유지된 행만 삭제한다.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE id IN (:ids) AND claimed_by = :owner", nativeQuery = true)
+    int deleteClaimed(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    /**
+     * 발행 대기(READY/FAILED) 상태별 건수와 가장 오래된 이벤트의 경과 초를 (status, created_at) 인덱스만 읽어 집계한다.
+     */
+    @Query(value = "SELECT status AS status, COUNT(*) AS count, TIMESTAMPDIFF(SECOND, MIN(created_at), :now) AS oldestAgeSeconds "
+            + "FROM outbox_events WHERE status IN ('READY', 'FAILED') GROUP BY status", nativeQuery = true)
+    List<OutboxBacklogRow> summarizeBacklog(@Param("now") OffsetDateTime now);
+
+    /**
+     * 보존 기간이 지난 PUBLISHED 이벤트를 published_at 인덱스 범위를 따라 최대 limit건 삭제한다. 청크마다 별도 트랜잭션으로 실행된다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE status = 'PUBLISHED' AND published_at < :cutoff "
+            + "ORDER BY published_at LIMIT :limit", nativeQuery = true)
+    int deletePublishedBefore(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
 }
@@ -0,0 +1,82 @@
+package com.example.portfolio.order.infra;
+
+import com.example.portfolio.common.concurrent.MicroBatchQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 주문 트랜잭션이 커밋되는 즉시 해당 outbox 이벤트를 발행하는 빠른 경로다.
+ * 커밋 후 이벤트 ID를 큐에 넣고 작업 스레드가 짧은 대기 시간 동안 모아 {@link OutboxPublisher}로 발행한다.
+ * 큐가 가득 찼거나 커밋과 전송 사이에 프로세스가 종료되면 이벤트는 READY로 남아 폴러가 발행한다.
+ */
+@Component
+public class OutboxFastPathPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxFastPathPublisher.class);
+
+    private final OutboxPublisher outboxPublisher;
+    private final Counter droppedCounter;
+    private final MicroBatchQueue<Long> queue;
+
+    public OutboxFastPathPublisher(
+            OutboxPublisher outboxPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.fast-path.enabled:false}") boolean enabled,
+            @Value("${app.outbox.fast-path.max-batch-size:100}") int maxBatchSize,
+            @Value("${app.outbox.fast-path.max-wait-ms:2}") long maxWaitMs,
+            @Value("${app.outbox.fast-path.queue-capacity:10000}") int queueCapacity) {
+        this.outboxPublisher = outboxPublisher;
+        this.droppedCounter = Counter.builder("outbox.fast-path.dropped").register(meterRegistry);
+        this.queue = enabled
+                ? new MicroBatchQueue<>("outbox-fast-path", maxBatchSize, maxWaitMs, queueCapacity, this::publish)
+                : null;
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 이벤트 ID를 발행 큐에 넣도록 등록한다. 롤백되면 아무 것도 하지 않는다.
+     */
+    public void publishAfterCommit(Collection<Long> eventIds) {
+        if (queue == null || !queue.isRunning() || eventIds.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(eventIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(ids);
+            }
+        });
+    }
+
+    void enqueue(List<Long> eventIds) {
+        for (Long eventId : eventIds) {
+            if (!queue.offer(eventId)) {
+                droppedCounter.increment();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    private void publish(List<Long> eventIds) {
+        try {
+            outboxPublisher.publishEvents(eventIds);
+        } catch (RuntimeException ex) {
+            log.warn("Outbox 빠른 경로 발행 실패, 폴러가 재시도합니다", ex);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.portfolio.order.infra;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * aggregateId 해시로 outbox 이벤트를 N개 레인에 나누고, 레인별 진행 중 건수와 실패 백오프를 관리한다.
+ * 같은 aggregate는 항상 같은 레인에 배정되므로 레인 안에서 순서를 지키면 aggregate별 발행 순서가 보장된다.
+ */
+class OutboxLanes {
+
+    private static final long MAX_BACKOFF_SECONDS = 60;
+
+    private final int laneCount;
+    private final AtomicInteger[] depths;
+    private final int[] consecutiveFailures;
+    private final OffsetDateTime[] backoffUntil;
+
+    OutboxLanes(int laneCount, MeterRegistry meterRegistry) {
+        this.laneCount = Math.max(1, laneCount);
+        this.depths = new AtomicInteger[this.laneCount];
+        this.consecutiveFailures = new int[this.laneCount];
+        this.backoffUntil = new OffsetDateTime[this.laneCount];
+        for (int lane = 0; lane < this.laneCount; lane++) {
+            depths[lane] = new AtomicInteger();
+            Gauge.builder("outbox.lane.depth", depths[lane], AtomicInteger::get)
+                    .tag("lane", String.valueOf(lane))
+                    .register(meterRegistry);
+        }
+    }
+
+    int laneOf(String aggregateId) {
+        return Math.floorMod(aggregateId.hashCode(), laneCount);
+    }
+
+    AtomicInteger depth(int lane) {
+        return depths[lane];
+    }
+
+    /**
+     * 레인이 백오프 중이면 재개 시각을, 아니면 null을 반환한다.
+     */
+    synchronized OffsetDateTime backoffUntil(int lane, OffsetDateTime now) {
+        OffsetDateTime until = backoffUntil[lane];
+        return until != null && until.isAfter(now) ? until : null;
+    }
+
+    /**
+     * 레인 실패를 기록하고 연속 실패 횟수에 비례한 재개 시각을 반환한다. 다른 레인에는 영향을 주지 않는다.
+     */
+    synchronized OffsetDateTime recordFailure(int lane, OffsetDateTime now) {
+        consecutiveFailures[lane] += 1;
+        backoffUntil[lane] = now.plusSeconds(Math.min(MAX_BACKOFF_SECONDS, consecutiveFailures[lane] * 5L));
+        return backoffUntil[lane];
+    }
+
+    synchronized void recordSuccess(int lane) {
+        consecutiveFailures[lane] = 0;
+        backoffUntil[lane] = null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.portfolio.order.infra;
+
+import com.example.portfolio.order.domain.OutboxParkedEvent;
+import com.example.portfolio.order.domain.OutboxParkedStatus;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 보관된 outbox 이벤트를 조회하고 outbox 테이블과의 행 이동을 처리하는 저장소다.
+ * 필터 인자는 null이면 조건에서 빠진다.
+ */
+public interface OutboxParkedEventRepository extends JpaRepository<OutboxParkedEvent, Long> {
+
+    /**
+     * 아직 선점 중인 outbox 이벤트를 보관 테이블로 복사한다. 같은 트랜잭션에서 outbox 행을 삭제해야 한다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO outbox_parked_events (id, aggregate_type, aggregate_id, event_type, payload, retries, status, created_at, parked_at) "
+            + "SELECT id, aggregate_type, aggregate_id, event_type, payload, retries + 1, 'PARKED', created_at, :now "
+            + "FROM outbox_events WHERE id IN (:ids) AND claimed_by = :owner", nativeQuery = true)
+    int parkFromOutbox(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("now") OffsetDateTime now);
+
+    @Query("SELECT p FROM OutboxParkedEvent p WHERE (:status IS NULL OR p.status = :status) "
+            + "AND (:eventType IS NULL OR p.eventType = :eventType) AND (:aggregateId IS NULL OR p.aggregateId = :aggregateId) "
+            + "AND (:parkedBefore IS NULL OR p.parkedAt < :parkedBefore)")
+    Page<OutboxParkedEvent> search(
+            @Param("status") OutboxParkedStatus status,
+            @Param("eventType") String eventType,
+            @Param("aggregateId") String aggregateId,
+            @Param("parkedBefore") OffsetDateTime parkedBefore,
+            Pageable pageable);
+
+    /**
+     * 필터에 맞는 PARKED 이벤트를 재발행 요청 상태로 바꾼다. 실제 이동은 재발행 작업이 나눠서 처리한다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE outbox_parked_events SET status = 'REPLAY_REQUESTED' WHERE status = 'PARKED' "
+            + "AND (:eventType IS NULL OR event_type = :eventType) AND (:aggregateId IS NULL OR aggregate_id = :aggregateId) "
+            + "AND (:parkedBefore IS NULL OR parked_at < :parkedBefore)", nativeQuery = true)
+    int requestReplay(
+            @Param("eventType") String eventType,
+            @Param("aggregateId") String aggregateId,
+            @Param("parkedBefore") OffsetDateTime parkedBefore);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM outbox_parked_events WHERE status = 'PARKED' "
+            + "AND (:eventType IS NULL OR event_type = :eventType) AND (:aggregateId IS NULL OR aggregate_id = :aggregateId) "
+            + "AND (:parkedBefore IS NULL OR parked_at < :parkedBefore)", nativeQuery = true)
+    int discard(
+            @Param("eventType") String eventType,
+            @Param("aggregateId") String aggregateId,
+            @Param("parkedBefore") OffsetDateTime parkedBefore);
+
+    /**
+     * 재발행 요청된 이벤트를 보관 순으로 잠그며 조회한다. 다른 레플리카가 잠근 행은 건너뛴다.
+     */
+    @Query(value = "SELECT id FROM outbox_parked_events WHERE status = 'REPLAY_REQUESTED' "
+            + "ORDER BY parked_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findReplayRequestedIdsForUpdate(@Param("limit") int limit);
+
+    /**
+     * 보관 이벤트를 재시도 0회의 READY 상태로 outbox에 되돌린다. 새 이벤트보다 앞서지 않도록 생성 시각은 현재로 둔다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO outbox_events (id, aggregate_type, aggregate_id, event_type, payload, status, retries, created_at, available_at) "
+            + "SELECT id, aggregate_type, aggregate_id, event_type, payload, 'READY', 0, :now, :now "
+            + "FROM outbox_parked_events WHERE id IN (:ids)", nativeQuery = true)
+    int restoreToOutbox(@Param("ids") Collection<Long> ids, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM outbox_parked_events WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,58 @@
+package com.example.portfolio.order.infra;
+
+import com.example.portfolio.order.domain.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+/**
+ * 발행 배치 크기, 커밋부터 발행까지의 지연, 시도 회차별 결과를 기록한다. 시도 회차 태그는 5회 이상을 하나로 묶는다.
+ */
+class OutboxPublishMetrics {
+
+    private static final int MAX_ATTEMPT_TAG = 5;
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSize;
+    private final Timer publishLatency;
+
+    OutboxPublishMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.batchSize = DistributionSummary.builder("outbox.publish.batch.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.publishLatency = Timer.builder("outbox.publish.latency")
+                .description("outbox 이벤트 생성(주문 커밋)부터 발행 완료까지의 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    void recordBatch(int size) {
+        batchSize.record(size);
+    }
+
+    void recordPublished(Collection<OutboxEvent> events, OffsetDateTime publishedAt) {
+        for (OutboxEvent event : events) {
+            if (event.getCreatedAt() != null) {
+                publishLatency.record(Duration.between(event.getCreatedAt(), publishedAt));
+            }
+            attempts(event, "published").increment();
+        }
+    }
+
+    void recordFailed(Collection<OutboxEvent> events) {
+        events.forEach(event -> attempts(event, "failed").increment());
+    }
+
+    private Counter attempts(OutboxEvent event, String outcome) {
+        int attempt = event.getRetries() + 1;
+        return Counter.builder("outbox.publish.attempts")
+                .tag("attempt", attempt >= MAX_ATTEMPT_TAG ? MAX_ATTEMPT_TAG + "+" : String.valueOf(attempt))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
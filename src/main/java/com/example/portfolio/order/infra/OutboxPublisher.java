@@ -1,20 +1,47 @@
 package com.example.portfolio.order.infra;
 
+import com.example.portfolio.common.messaging.EncodedEvent;
+import com.example.portfolio.common.messaging.EventCodecRegistry;
+import com.example.portfolio.common.messaging.EventHeaders;
+import com.example.portfolio.common.transaction.RetryingTransactionExecutor;
 import com.example.portfolio.order.domain.OutboxEvent;
-import com.example.portfolio.order.domain.OutboxStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Outbox 테이블을 폴링해 Kafka로 이벤트를 발행한다.
+ * 짧은 트랜잭션에서 {@code FOR UPDATE SKIP LOCKED}로 배치를 선점(lease)하므로 여러 레플리카가 백로그를 나눠 처리한다.
+ * 선점한 배치를 aggregate 레인별로 한꺼번에 비동기 전송하고 모든 전송을 함께 기다린 뒤, 결과별로 한 번씩 상태를 갱신한다.
+ * 선점 후 종료된 레플리카의 이벤트는 선점 만료 시각이 지나면 다른 레플리카가 다시 선점한다.
+ * 백로그가 drain 임계치를 넘으면 폴링 간격 없이 큰 배치를 연달아 발행하고, 따라잡으면 평소 폴링으로 돌아간다.
+ * {@code app.outbox.max-retries}번 실패한 이벤트는 보관 테이블로 옮겨 더 이상 배치 자리를 차지하지 않게 한다.
  */
 @Service
 public class OutboxPublisher {
@@ -22,31 +49,372 @@ public class OutboxPublisher {
     private static final Logger log = LoggerFactory.getLogger(OutboxPublisher.class);
 
     private final OutboxEventRepository outboxEventRepository;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxParkedEventRepository parkedEventRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final EventCodecRegistry eventCodecRegistry;
+    private final RetryingTransactionExecutor transactionExecutor;
     private final String orderCreatedTopic;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long leaseMs;
+    private final String owner;
+    private final OutboxLanes lanes;
+    private final OutboxPublishMetrics metrics;
+    private final Counter parkedCounter;
+    private final int maxRetries;
+    private final OutboxBacklogMonitor backlogMonitor;
+    private final OutboxDrainProperties drainProperties;
+    private final AtomicInteger draining = new AtomicInteger();
+    private final Counter drainCounter;
 
     public OutboxPublisher(
             OutboxEventRepository outboxEventRepository,
-            KafkaTemplate<String, String> kafkaTemplate,
-            @Value("${app.kafka.topics.order-created:order.created}") String orderCreatedTopic) {
+            OutboxParkedEventRepository parkedEventRepository,
+            KafkaTemplate<String, byte[]> kafkaTemplate,
+            EventCodecRegistry eventCodecRegistry,
+            RetryingTransactionExecutor transactionExecutor,
+            MeterRegistry meterRegistry,
+            OutboxBacklogMonitor backlogMonitor,
+            OutboxDrainProperties drainProperties,
+            @Value("${app.kafka.topics.order-created:order.created}") String orderCreatedTopic,
+            @Value("${app.outbox.batch-size:500}") int batchSize,
+            @Value("${app.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${app.outbox.lease-ms:30000}") long leaseMs,
+            @Value("${app.outbox.instance-id:}") String instanceId,
+            @Value("${app.outbox.lanes:8}") int laneCount,
+            @Value("${app.outbox.max-retries:10}") int maxRetries) {
         this.outboxEventRepository = outboxEventRepository;
+        this.parkedEventRepository = parkedEventRepository;
         this.kafkaTemplate = kafkaTemplate;
+        this.eventCodecRegistry = eventCodecRegistry;
+        this.transactionExecutor = transactionExecutor;
         this.orderCreatedTopic = orderCreatedTopic;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.leaseMs = Math.max(leaseMs, sendTimeoutMs * 3);
+        this.owner = instanceId.isBlank() ? defaultInstanceId() : instanceId;
+        this.lanes = new OutboxLanes(laneCount, meterRegistry);
+        this.metrics = new OutboxPublishMetrics(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.parked").register(meterRegistry);
+        this.maxRetries = maxRetries;
+        this.backlogMonitor = backlogMonitor;
+        this.drainProperties = drainProperties;
+        this.drainCounter = Counter.builder("outbox.drain.runs").register(meterRegistry);
+        Gauge.builder("outbox.drain.active", draining, AtomicInteger::get).register(meterRegistry);
     }
 
+    /**
+     * 한 배치를 발행하고, 배치가 가득 찼거나 마지막 백로그 샘플이 임계치를 넘으면 drain 모드로 전환한다.
+     * 브로커가 아직 복구되지 않아 한 건도 발행하지 못했으면 전환하지 않고 평소 백오프를 따른다.
+     */
     @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:5000}")
-    @Transactional
     public void publishReadyEvents() {
-        List<OutboxEvent> events = outboxEventRepository.findTop100ByStatusInAndAvailableAtBeforeOrderByCreatedAtAsc(
-                List.of(OutboxStatus.READY, OutboxStatus.FAILED), OffsetDateTime.now());
+        BatchResult result = claimAndPublish(batchSize);
+        if (drainProperties.enabled() && result.published() > 0
+                && (result.claimed() == batchSize || backlogMonitor.current().pending() > drainProperties.threshold())) {
+            drain();
+        }
+    }
+
+    /**
+     * 백로그를 따라잡을 때까지 drain 배치 크기로 쉬지 않고 선점/발행한다. 배치가 덜 차면(따라잡음), 한 건도 발행하지 못하면(브로커 미복구),
+     * 또는 최대 실행 시간이 지나면 멈추고 다음 폴링부터 평소 주기로 돌아간다.
+     * 진입 시 브로커 장애 동안 쌓인 FAILED 이벤트의 백오프를 풀어 각자의 재시도 시각을 기다리지 않게 한다.
+     */
+    void drain() {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(drainProperties.maxDurationMs());
+        draining.set(1);
+        drainCounter.increment();
+        long published = 0;
+        try {
+            int expedited = outboxEventRepository.expediteFailed(OffsetDateTime.now(), drainProperties.expediteLimit());
+            log.info("Outbox drain 모드 시작: backlog={}, expeditedFailed={}", backlogMonitor.current().pending(), expedited);
+            BatchResult result;
+            do {
+                result = claimAndPublish(drainProperties.batchSize());
+                published += result.published();
+            } while (result.claimed() == drainProperties.batchSize() && result.published() > 0 && System.nanoTime() < deadline);
+        } finally {
+            draining.set(0);
+            long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            log.info("Outbox drain 모드 종료: published={}, elapsedMs={}, ratePerSec={}", published, elapsedMs, published * 1000 / elapsedMs);
+        }
+    }
+
+    private BatchResult claimAndPublish(int limit) {
+        List<OutboxEvent> events = claimBatch(now -> outboxEventRepository.findClaimableIdsForUpdate(now, limit));
+        return new BatchResult(events.size(), publish(events));
+    }
+
+    /**
+     * 지정한 이벤트만 선점해 즉시 발행한다. 이미 발행됐거나 다른 레플리카가 선점한 이벤트는 건너뛴다.
+     */
+    public void publishEvents(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        publish(claimBatch(now -> outboxEventRepository.findClaimableIdsForUpdateIn(ids, now)));
+    }
+
+    /**
+     * 이벤트를 aggregateId 해시 레인으로 나눠 병렬로 발행한다. 같은 aggregate의 이벤트는 앞 이벤트가 성공해야 다음을 보낸다.
+     * 실패한 레인만 백오프하며, 백오프 중인 레인의 이벤트는 보내지 않고 재개 시각까지 선점을 풀어 둔다. 발행에 성공한 건수를 반환한다.
+     * 전송이 끝나지 않은 aggregate는 발행된 이벤트만 반영하고 나머지는 선점을 유지해, 선점이 만료되기 전까지 다른 폴링이 다시 보내지 않게 한다.
+     */
+    private int publish(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        metrics.recordBatch(events.size());
+        if (kafkaTemplate.isTransactional()) {
+            return publishTransactionally(events);
+        }
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        Map<Integer, Map<String, List<OutboxEvent>>> byLane = new LinkedHashMap<>();
         for (OutboxEvent event : events) {
-            try {
-                kafkaTemplate.send(orderCreatedTopic, event.getAggregateId(), event.getPayload()).get(5, TimeUnit.SECONDS);
-                event.markPublished();
-            } catch (Exception ex) {
-                log.error("Outbox 이벤트 발행 실패: id={}", event.getId(), ex);
-                event.markFailedWithBackoff();
+            byLane.computeIfAbsent(lanes.laneOf(event.getAggregateId()), lane -> new LinkedHashMap<>())
+                    .computeIfAbsent(event.getAggregateId(), aggregateId -> new ArrayList<>())
+                    .add(event);
+        }
+        Map<Long, SendOutcome> outcomes = new ConcurrentHashMap<>();
+        Map<Integer, OffsetDateTime> pausedLanes = new HashMap<>();
+        Map<String, CompletableFuture<Boolean>> chains = new HashMap<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        byLane.forEach((lane, aggregates) -> {
+            OffsetDateTime pausedUntil = lanes.backoffUntil(lane, startedAt);
+            if (pausedUntil != null) {
+                pausedLanes.put(lane, pausedUntil);
+                return;
+            }
+            aggregates.forEach((aggregateId, ordered) -> chains.put(aggregateId, sendInOrder(lane, ordered, outcomes, cancelled)));
+        });
+        awaitAll(chains.values(), cancelled);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<OutboxEvent> published = new ArrayList<>();
+        List<OutboxEvent> failed = new ArrayList<>();
+        Map<OffsetDateTime, List<Long>> released = new HashMap<>();
+        List<Long> inFlight = new ArrayList<>();
+        byLane.forEach((lane, aggregates) -> {
+            List<OutboxEvent> laneEvents = aggregates.values().stream().flatMap(List::stream).toList();
+            if (pausedLanes.containsKey(lane)) {
+                released.computeIfAbsent(pausedLanes.get(lane), until -> new ArrayList<>())
+                        .addAll(laneEvents.stream().map(OutboxEvent::getId).toList());
+                return;
+            }
+            List<OutboxEvent> laneFailed = new ArrayList<>();
+            List<Long> laneSkipped = new ArrayList<>();
+            boolean settled = false;
+            for (Map.Entry<String, List<OutboxEvent>> aggregate : aggregates.entrySet()) {
+                boolean stopped = chains.get(aggregate.getKey()).isDone();
+                for (OutboxEvent event : aggregate.getValue()) {
+                    SendOutcome outcome = outcomes.getOrDefault(event.getId(), SendOutcome.SKIPPED);
+                    if (outcome == SendOutcome.PUBLISHED) {
+                        published.add(event);
+                    } else if (!stopped) {
+                        inFlight.add(event.getId());
+                    } else if (outcome == SendOutcome.FAILED) {
+                        laneFailed.add(event);
+                    } else {
+                        laneSkipped.add(event.getId());
+                    }
+                }
+                settled |= stopped;
+            }
+            if (!settled) {
+                return;
+            }
+            OffsetDateTime resumeAt = now;
+            if (laneFailed.isEmpty()) {
+                lanes.recordSuccess(lane);
+            } else {
+                resumeAt = lanes.recordFailure(lane, now);
+                failed.addAll(laneFailed);
+            }
+            if (!laneSkipped.isEmpty()) {
+                released.computeIfAbsent(resumeAt, until -> new ArrayList<>()).addAll(laneSkipped);
+            }
+        });
+        if (!inFlight.isEmpty()) {
+            log.warn("대기 시간 안에 끝나지 않은 Outbox 전송은 선점 만료까지 그대로 둠: count={}, ids={}", inFlight.size(), inFlight);
+        }
+
+        markPublished(published, now);
+        markFailed(failed, now);
+        released.forEach((until, ids) -> outboxEventRepository.release(ids, owner, until));
+        return published.size();
+    }
+
+    /**
+     * 선점한 배치 전체를 Kafka 트랜잭션 하나로 보낸다. 커밋되면 모두 PUBLISHED, 중단되면 모두 재시도 대상이 되며
+     * read_committed 컨슈머는 중단된 배치의 레코드를 보지 않는다. 프로듀서 하나가 순서대로 보내므로 aggregate 순서도 유지된다.
+     */
+    private int publishTransactionally(List<OutboxEvent> events) {
+        boolean committed;
+        try {
+            kafkaTemplate.executeInTransaction(operations -> {
+                events.forEach(event -> operations.send(recordOf(event)));
+                return null;
+            });
+            committed = true;
+        } catch (RuntimeException ex) {
+            log.error("Outbox 트랜잭션 발행 실패: count={}", events.size(), ex);
+            committed = false;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        if (committed) {
+            markPublished(events, now);
+            return events.size();
+        }
+        markFailed(events, now);
+        return 0;
+    }
+
+    private void markPublished(List<OutboxEvent> published, OffsetDateTime now) {
+        if (published.isEmpty()) {
+            return;
+        }
+        List<Long> ids = published.stream().map(OutboxEvent::getId).toList();
+        int updated = outboxEventRepository.markPublished(ids, owner, now);
+        if (updated < ids.size()) {
+            log.warn("선점이 만료된 뒤 발행 완료된 Outbox 이벤트가 있음: owner={}, expected={}, updated={}", owner, ids.size(), updated);
+        }
+        metrics.recordPublished(published, now);
+    }
+
+    /**
+     * 실패한 이벤트를 백오프 후 재시도 대상으로 돌리고, 이번 실패로 최대 재시도 횟수에 도달한 이벤트는 보관 테이블로 옮긴다.
+     */
+    private void markFailed(List<OutboxEvent> failed, OffsetDateTime now) {
+        if (failed.isEmpty()) {
+            return;
+        }
+        metrics.recordFailed(failed);
+        List<Long> retryIds = new ArrayList<>();
+        List<Long> parkIds = new ArrayList<>();
+        for (OutboxEvent event : failed) {
+            (event.getRetries() + 1 >= maxRetries ? parkIds : retryIds).add(event.getId());
+        }
+        if (!retryIds.isEmpty()) {
+            log.warn("Outbox 이벤트 발행 실패: count={}, ids={}", retryIds.size(), retryIds);
+            outboxEventRepository.markFailedWithBackoff(retryIds, owner, now);
+        }
+        if (!parkIds.isEmpty()) {
+            int parked = transactionExecutor.execute("outbox.park", status -> {
+                int moved = parkedEventRepository.parkFromOutbox(parkIds, owner, now);
+                outboxEventRepository.deleteClaimed(parkIds, owner);
+                return moved;
+            });
+            parkedCounter.increment(parked);
+            log.error("최대 재시도 횟수를 넘긴 Outbox 이벤트 보관: maxRetries={}, count={}, ids={}", maxRetries, parked, parkIds);
+        }
+    }
+
+    /**
+     * 같은 aggregate의 이벤트를 순서대로 연결해 보낸다. 앞 이벤트가 실패했거나 대기 시간이 지나 취소됐으면 뒤 이벤트는 보내지 않고 SKIPPED로 남긴다.
+     */
+    private CompletableFuture<Boolean> sendInOrder(int lane, List<OutboxEvent> ordered, Map<Long, SendOutcome> outcomes,
+            AtomicBoolean cancelled) {
+        AtomicInteger depth = lanes.depth(lane);
+        depth.addAndGet(ordered.size());
+        CompletableFuture<Boolean> chain = CompletableFuture.completedFuture(true);
+        for (OutboxEvent event : ordered) {
+            chain = chain.thenCompose(previousSent -> {
+                if (!previousSent || cancelled.get()) {
+                    outcomes.put(event.getId(), SendOutcome.SKIPPED);
+                    depth.decrementAndGet();
+                    return CompletableFuture.completedFuture(false);
+                }
+                return send(event).handle((result, ex) -> {
+                    outcomes.put(event.getId(), ex == null ? SendOutcome.PUBLISHED : SendOutcome.FAILED);
+                    depth.decrementAndGet();
+                    return ex == null;
+                });
+            });
+        }
+        return chain;
+    }
+
+    /**
+     * 발행 가능한 이벤트를 잠그고 선점자와 만료 시각을 기록한 뒤 바로 커밋한다. Kafka 전송 동안에는 행 잠금을 잡지 않는다.
+     */
+    private List<OutboxEvent> claimBatch(Function<OffsetDateTime, List<Long>> lockClaimable) {
+        return transactionExecutor.execute("outbox.claim", status -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<Long> ids = lockClaimable.apply(now);
+            if (ids.isEmpty()) {
+                return List.<OutboxEvent>of();
             }
+            outboxEventRepository.claim(ids, owner, now.plus(leaseMs, ChronoUnit.MILLIS));
+            Map<Long, OutboxEvent> byId = outboxEventRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(OutboxEvent::getId, Function.identity()));
+            return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        });
+    }
+
+    private static String defaultInstanceId() {
+        String hostname = System.getenv("HOSTNAME");
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return hostname == null || hostname.isBlank() ? suffix : hostname + "-" + suffix;
+    }
+
+    /**
+     * 토픽 형식이 json이면 저장된 페이로드를 UTF-8 바이트 그대로, binary면 이벤트 코덱으로 변환해 싣고 형식과 이벤트 타입은 헤더로 전달한다.
+     */
+    private ProducerRecord<String, byte[]> recordOf(OutboxEvent event) {
+        EncodedEvent encoded = eventCodecRegistry.encode(orderCreatedTopic, event.getEventType(), event.getPayload());
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(orderCreatedTopic, event.getAggregateId(), encoded.payload());
+        record.headers()
+                .add(EventHeaders.CONTENT_TYPE, EventHeaders.value(encoded.contentType()))
+                .add(EventHeaders.EVENT_TYPE, EventHeaders.value(event.getEventType()));
+        return record;
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        try {
+            return kafkaTemplate.send(recordOf(event))
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.error("Outbox 이벤트 발행 실패: id={}", event.getId(), ex);
+                        }
+                    });
+        } catch (RuntimeException ex) {
+            log.error("Outbox 이벤트 발행 실패: id={}", event.getId(), ex);
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private record BatchResult(int claimed, int published) {
+    }
+
+    private enum SendOutcome {
+        PUBLISHED, FAILED, SKIPPED
+    }
+
+    /**
+     * 배치 전체 전송을 한 번의 타임아웃 안에서 기다린다. 시간이 지나면 아직 시작하지 않은 전송을 취소하고,
+     * 이미 보낸 전송이 끝나기를 타임아웃만큼 한 번 더 기다린다. 선점 시간은 두 번의 대기보다 길게 잡혀 있다.
+     */
+    private void awaitAll(Collection<CompletableFuture<Boolean>> chains, AtomicBoolean cancelled) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(chains.toArray(CompletableFuture[]::new));
+        if (await(all)) {
+            return;
+        }
+        cancelled.set(true);
+        await(all);
+    }
+
+    private boolean await(CompletableFuture<?> future) {
+        try {
+            future.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException ex) {
+            log.debug("Outbox 배치 전송 대기 종료: {}", ex.toString());
+            return future.isDone();
         }
     }
 }
@@ -0,0 +1,8 @@
+-- 컨슈머별로 처리한 이벤트 ID를 기록한다. TTL이 지난 행은 processed_at 범위 삭제로 정리한다.
+CREATE TABLE processed_events (
+    consumer VARCHAR(64) NOT NULL,
+    event_id VARCHAR(64) NOT NULL,
+    processed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (consumer, event_id)
+);
+CREATE INDEX idx_processed_events_processed_at ON processed_events (processed_at);
@@ -0,0 +1,2 @@
+-- 보존 기간이 지난 APPLIED 원장 행을 applied_at 범위로 청크 삭제하기 위한 인덱스다.
+CREATE INDEX idx_stock_movements_status_applied ON stock_movements (status, applied_at);
@@ -0,0 +1,18 @@
+CREATE TABLE idempotency_records (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    request_hash VARCHAR(128),
+    status VARCHAR(32) NOT NULL,
+    order_id BIGINT,
+    response JSON,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_idempotency_records_expires ON idempotency_records (expires_at);
+
+-- 기본 보존 기간(7일) 안의 주문 키만 옮긴다. 응답은 비워 두고 재생 시 order_id로 주문을 읽는다.
+INSERT INTO idempotency_records (idempotency_key, request_hash, status, order_id, response, created_at, expires_at)
+SELECT idempotency_key, request_hash, 'COMPLETED', id, NULL, created_at, TIMESTAMPADD(DAY, 7, created_at)
+FROM orders
+WHERE created_at >= TIMESTAMPADD(DAY, -7, CURRENT_TIMESTAMP);
+
+ALTER TABLE orders DROP INDEX idempotency_key;
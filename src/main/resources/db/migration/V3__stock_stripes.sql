@@ -0,0 +1,9 @@
+CREATE TABLE stock_stripes (
+    product_id BIGINT NOT NULL,
+    stripe_no INT NOT NULL,
+    quantity BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (product_id, stripe_no),
+    CONSTRAINT fk_stock_stripes_product FOREIGN KEY (product_id) REFERENCES products (id),
+    CONSTRAINT chk_stock_stripe_quantity CHECK (quantity >= 0)
+);
@@ -0,0 +1,13 @@
+CREATE TABLE stock_movements (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    delta BIGINT NOT NULL,
+    reason VARCHAR(32) NOT NULL,
+    reference_id VARCHAR(64),
+    status VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    applied_at TIMESTAMP NULL,
+    CONSTRAINT fk_stock_movements_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+CREATE INDEX idx_stock_movements_status_product ON stock_movements (status, product_id);
+CREATE INDEX idx_stock_movements_product_created ON stock_movements (product_id, created_at);
@@ -0,0 +1,16 @@
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+-- pooled 옵티마이저는 읽은 값을 블록 상한으로 쓰므로(값-49..값), 기존 최대 ID보다 두 블록 위에서 시작한다.
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'orders', COALESCE(MAX(id), 0) + 100 FROM orders
+UNION ALL
+SELECT 'order_items', COALESCE(MAX(id), 0) + 100 FROM order_items
+UNION ALL
+SELECT 'outbox_events', COALESCE(MAX(id), 0) + 100 FROM outbox_events
+UNION ALL
+SELECT 'notifications', COALESCE(MAX(id), 0) + 100 FROM notifications
+UNION ALL
+SELECT 'stock_movements', COALESCE(MAX(id), 0) + 100 FROM stock_movements;
@@ -0,0 +1,2 @@
+-- 선점 중인 레플리카 식별자. 선점 만료 시각은 available_at을 함께 사용해 기존 (status, available_at) 인덱스로 재선점된다.
+ALTER TABLE outbox_events ADD COLUMN claimed_by VARCHAR(64) NULL;
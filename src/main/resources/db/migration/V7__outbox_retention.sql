@@ -0,0 +1,2 @@
+-- 보존 기간이 지난 PUBLISHED 행을 published_at 범위로 청크 삭제하기 위한 인덱스다.
+CREATE INDEX idx_outbox_status_published ON outbox_events (status, published_at);
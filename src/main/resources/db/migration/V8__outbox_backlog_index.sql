@@ -0,0 +1,2 @@
+-- 발행 대기 상태별 건수와 가장 오래된 created_at을 인덱스만 읽어 집계하기 위한 인덱스다.
+CREATE INDEX idx_outbox_status_created ON outbox_events (status, created_at);
@@ -0,0 +1,14 @@
+-- 최대 재시도 횟수를 넘긴 outbox 이벤트를 발행 대상에서 빼 보관한다. id는 원래 outbox 이벤트 ID를 그대로 쓴다.
+CREATE TABLE outbox_parked_events (
+    id BIGINT PRIMARY KEY,
+    aggregate_type VARCHAR(64) NOT NULL,
+    aggregate_id VARCHAR(64) NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload JSON NOT NULL,
+    retries INT NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    created_at TIMESTAMP NULL,
+    parked_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_outbox_parked_status_parked ON outbox_parked_events (status, parked_at);
+CREATE INDEX idx_outbox_parked_event_type ON outbox_parked_events (event_type, parked_at);
@@ -0,0 +1,42 @@
+package com.example.portfolio.common.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+
+class MicroBatchQueueTest {
+
+    @Test
+    void offer_groupsItemsUpToMaxBatchSize_andDrainsQueueOnShutdown() throws InterruptedException {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        MicroBatchQueue<Integer> queue = new MicroBatchQueue<>("test-batch", 3, 50, 100, batches::add);
+
+        for (int i = 0; i < 7; i++) {
+            assertThat(queue.offer(i)).isTrue();
+        }
+        queue.shutdown();
+
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(3));
+        assertThat(batches.stream().flatMap(List::stream).toList()).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(queue.offer(7)).isFalse();
+    }
+
+    @Test
+    void handlerFailure_doesNotStopTheWorker() throws InterruptedException {
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        MicroBatchQueue<Integer> queue = new MicroBatchQueue<>("test-batch", 1, 1, 10, batch -> {
+            if (batch.contains(0)) {
+                throw new IllegalStateException("boom");
+            }
+            handled.addAll(batch);
+        });
+
+        queue.offer(0);
+        queue.offer(1);
+        queue.shutdown();
+
+        assertThat(handled).containsExactly(1);
+    }
+}
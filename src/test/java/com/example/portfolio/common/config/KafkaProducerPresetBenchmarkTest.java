@@ -0,0 +1,74 @@
+package com.example.portfolio.common.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 프리셋별 처리량과 전송 지연(p50/p99)을 실제 브로커에서 측정한다. 기본 빌드에서는 제외되며 {@code mvn test -Pbenchmark}로 실행한다.
+ */
+@Testcontainers
+@Tag("benchmark")
+class KafkaProducerPresetBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaProducerPresetBenchmarkTest.class);
+    private static final int MESSAGES = Integer.getInteger("benchmark.messages", 50_000);
+    private static final byte[] PAYLOAD = ("{\"eventId\":1,\"orderId\":1,\"userId\":1,\"totalAmount\":12000.00,"
+            + "\"items\":[{\"productId\":1,\"quantity\":2,\"unitPrice\":6000.00}],\"createdAt\":\"2024-01-01T00:00:00Z\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Container
+    private static final KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.6.1"));
+
+    @ParameterizedTest
+    @EnumSource(KafkaProducerPreset.class)
+    void measurePreset(KafkaProducerPreset preset) throws Exception {
+        KafkaConfig config = new KafkaConfig(new KafkaProducerProperties(preset, null, null, null, null, null, null, false, null, null));
+        ReflectionTestUtils.setField(config, "bootstrapServers", kafka.getBootstrapServers());
+        KafkaTemplate<String, byte[]> template = config.kafkaTemplate();
+        String topic = "benchmark." + preset.name().toLowerCase();
+        template.send(topic, "warmup", PAYLOAD).get(30, TimeUnit.SECONDS);
+
+        long[] latencies = new long[MESSAGES];
+        AtomicInteger failures = new AtomicInteger();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[MESSAGES];
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            int index = i;
+            long sentAt = System.nanoTime();
+            futures[i] = template.send(topic, String.valueOf(i % 1_000), PAYLOAD).whenComplete((result, ex) -> {
+                latencies[index] = System.nanoTime() - sentAt;
+                if (ex != null) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        CompletableFuture.allOf(futures).get(5, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - startedAt;
+        ((DefaultKafkaProducerFactory<String, byte[]>) template.getProducerFactory()).destroy();
+
+        Arrays.sort(latencies);
+        log.info("preset={} messages={} throughput={}/s p50={}ms p99={}ms settings={}",
+                preset, MESSAGES, Math.round(MESSAGES / (elapsedNanos / 1e9)),
+                latencies[MESSAGES / 2] / 1_000_000.0, latencies[(int) (MESSAGES * 0.99)] / 1_000_000.0,
+                Map.of("linger.ms", preset.lingerMs(), "batch.size", preset.batchSize(), "compression", preset.compressionType()));
+        assertThat(failures).hasValue(0);
+    }
+}
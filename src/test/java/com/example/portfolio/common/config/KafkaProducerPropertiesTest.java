@@ -0,0 +1,55 @@
+package com.example.portfolio.common.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class KafkaProducerPropertiesTest {
+
+    @Test
+    void defaultsToLowLatencyPreset_withIdempotentAcksAll() {
+        KafkaProducerProperties properties = new KafkaProducerProperties(null, null, null, null, null, null, null, false, null, null);
+
+        assertThat(properties.preset()).isEqualTo(KafkaProducerPreset.LOW_LATENCY);
+        assertThat(properties.lingerMs()).isZero();
+        assertThat(properties.compressionType()).isEqualTo("none");
+        assertThat(properties.acks()).isEqualTo("all");
+        assertThat(properties.idempotence()).isTrue();
+        assertThat(properties.maxInFlightRequests()).isEqualTo(5);
+    }
+
+    @Test
+    void explicitValuesOverridePreset() {
+        KafkaProducerProperties properties = new KafkaProducerProperties(
+                KafkaProducerPreset.HIGH_THROUGHPUT, null, 65_536, "zstd", null, null, null, true, "orders-tx-", " order-api-0 ");
+
+        assertThat(properties.lingerMs()).isEqualTo(KafkaProducerPreset.HIGH_THROUGHPUT.lingerMs());
+        assertThat(properties.batchSize()).isEqualTo(65_536);
+        assertThat(properties.compressionType()).isEqualTo("zstd");
+        assertThat(properties.transactionIdPrefix()).isEqualTo("orders-tx-");
+        assertThat(properties.instanceId()).isEqualTo("order-api-0");
+    }
+
+    @Test
+    void transactionalProducer_usesStableInstanceIdInTransactionIdPrefix() {
+        KafkaConfig config = new KafkaConfig(new KafkaProducerProperties(
+                null, null, null, null, null, null, null, true, "orders-tx-", "order-api-0"));
+        ReflectionTestUtils.setField(config, "bootstrapServers", "localhost:9092");
+
+        DefaultKafkaProducerFactory<String, byte[]> factory = (DefaultKafkaProducerFactory<String, byte[]>) config.producerFactory();
+
+        assertThat(factory.getTransactionIdPrefix()).isEqualTo("orders-tx-order-api-0-");
+    }
+
+    @Test
+    void transactionalProducer_failsFast_withoutInstanceId() {
+        KafkaConfig config = new KafkaConfig(new KafkaProducerProperties(
+                null, null, null, null, null, null, null, true, null, " "));
+        ReflectionTestUtils.setField(config, "bootstrapServers", "localhost:9092");
+
+        assertThatThrownBy(config::producerFactory).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.portfolio.common.dedup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedEventStoreTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProcessedEventStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new ProcessedEventStore(jdbcTemplate, meterRegistry, 1_000, 0.001, 72, 100);
+    }
+
+    @Test
+    void findProcessed_skipsDatabase_forEventsNeverSeen() {
+        assertThat(store.findProcessed("notification", List.of("1", "2", "3"))).isEmpty();
+
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), any(Object[].class));
+        assertThat(meterRegistry.counter("dedup.db.lookups").count()).isZero();
+    }
+
+    @Test
+    void findProcessed_checksDatabaseOnlyForProbableDuplicates() {
+        store.markProcessed("notification", List.of("1"));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("notification"), eq("1"))).thenReturn(List.of("1"));
+
+        Set<String> processed = store.findProcessed("notification", List.of("1", "2"));
+
+        assertThat(processed).containsExactly("1");
+        assertThat(meterRegistry.counter("dedup.duplicates").count()).isEqualTo(1);
+    }
+
+    @Test
+    void filter_isScopedByConsumer() {
+        store.markProcessed("notification", List.of("1"));
+
+        assertThat(store.findProcessed("billing", List.of("1"))).isEmpty();
+    }
+
+    @Test
+    void warmUp_streamsRecentRowsIntoFilter_upToWarmUpLimit() throws SQLException {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString(1)).thenReturn("notification");
+        when(row.getString(2)).thenReturn("1");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        store.warmUp();
+
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        creator.getValue().createPreparedStatement(connection);
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+        verify(statement).setInt(2, 100);
+
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("notification"), eq("1"))).thenReturn(List.of("1"));
+        assertThat(store.findProcessed("notification", List.of("1"))).containsExactly("1");
+    }
+
+    @Test
+    void bloomFilter_hasNoFalseNegatives_andFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("in-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("in-" + i)).isTrue();
+            if (filter.mightContain("out-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.portfolio.common.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+class ConsumerBackpressureControllerTest {
+
+    private static final String GROUP = "notification-consumer";
+
+    private final KafkaListenerEndpointRegistry listenerRegistry = mock(KafkaListenerEndpointRegistry.class);
+    private final ConsumerLagSampler lagSampler = mock(ConsumerLagSampler.class);
+    @SuppressWarnings("unchecked")
+    private final ConcurrentMessageListenerContainer<String, byte[]> container = mock(ConcurrentMessageListenerContainer.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final int[] concurrency = {2};
+    private final List<Runnable> resizeTasks = new ArrayList<>();
+    private ConsumerBackpressureController controller;
+
+    @BeforeEach
+    void setUp() {
+        ConsumerBackpressureProperties properties =
+                new ConsumerBackpressureProperties(true, GROUP, 200, 50, 5_000, 60_000, 10_000, 100, 1, 4, 60_000);
+        controller = new ConsumerBackpressureController(listenerRegistry, lagSampler, properties, meterRegistry, resizeTasks::add);
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.<MessageListenerContainer>of(container));
+        when(container.isRunning()).thenReturn(true);
+        when(container.getGroupId()).thenReturn(GROUP);
+        when(container.getConcurrency()).thenAnswer(invocation -> concurrency[0]);
+        when(container.getAssignedPartitions()).thenReturn(List.of(new TopicPartition("order.created", 0)));
+    }
+
+    @Test
+    void evaluate_slowProcessing_pausesWithoutRestarting_thenResumesAfterPause() {
+        when(lagSampler.sample(GROUP)).thenReturn(lag(5_000, 5_000));
+        controller.recordProcessing(GROUP, 10, 5_000_000_000L);
+
+        controller.evaluate(1_000_000);
+
+        verify(container).pause();
+        verify(container, never()).stop();
+        verify(container, never()).setConcurrency(anyInt());
+        assertThat(meterRegistry.get("kafka.consumer.backpressure.paused").gauge().value()).isEqualTo(1);
+
+        controller.evaluate(1_004_000);
+        verify(container, never()).resume();
+
+        controller.evaluate(1_005_000);
+        verify(container).resume();
+        assertThat(meterRegistry.get("kafka.consumer.backpressure.paused").gauge().value()).isZero();
+    }
+
+    @Test
+    void evaluate_keepsConcurrency_whenLagIsUnknown() {
+        when(lagSampler.sample(GROUP)).thenReturn(Map.of()).thenThrow(new IllegalStateException("broker down"));
+
+        controller.evaluate(1_000_000);
+        controller.evaluate(1_100_000);
+
+        verify(container, never()).setConcurrency(anyInt());
+    }
+
+    @Test
+    void evaluate_scalesDown_whenSampledLagIsDrained() {
+        when(lagSampler.sample(GROUP)).thenReturn(lag(0, 0));
+
+        controller.evaluate(1_000_000);
+        runResizeTasks();
+
+        verify(container).setConcurrency(1);
+    }
+
+    @Test
+    void evaluate_restartsOffSchedulerThread_andSkipsEvaluationUntilResizeCompletes() {
+        when(lagSampler.sample(GROUP)).thenReturn(lag(0, 0));
+
+        controller.evaluate(1_000_000);
+        verify(container, never()).stop();
+
+        controller.recordProcessing(GROUP, 10, 5_000_000_000L);
+        controller.evaluate(1_005_000);
+        verify(container, never()).pause();
+
+        runResizeTasks();
+        verify(container).stop();
+        verify(container).setConcurrency(1);
+        verify(container).start();
+    }
+
+    @Test
+    void evaluate_fastProcessingWithLag_raisesConcurrencyWithinPartitionCount_oncePerCooldown() {
+        when(lagSampler.sample(GROUP)).thenReturn(lag(20_000, 20_000, 20_000));
+        controller.recordProcessing(GROUP, 100, 100_000_000L);
+
+        controller.evaluate(1_000_000);
+        runResizeTasks();
+        verify(container).setConcurrency(3);
+
+        controller.recordProcessing(GROUP, 100, 100_000_000L);
+        controller.evaluate(1_030_000);
+        runResizeTasks();
+        verify(container, never()).setConcurrency(2);
+        verify(container).setConcurrency(anyInt());
+    }
+
+    @Test
+    void evaluate_neverScalesAboveAssignedPartitionCount() {
+        when(lagSampler.sample(GROUP)).thenReturn(lag(20_000, 20_000));
+
+        controller.evaluate(1_000_000);
+
+        verify(container, never()).setConcurrency(anyInt());
+    }
+
+    @Test
+    void evaluate_publishesLagPerPartition_andKeepsLastValueWhenSamplingFails() {
+        when(lagSampler.sample(GROUP)).thenReturn(lag(7, 3)).thenThrow(new IllegalStateException("broker down"));
+
+        controller.evaluate(1_000_000);
+        controller.evaluate(1_005_000);
+
+        assertThat(meterRegistry.get("kafka.consumer.lag").tag("partition", "0").gauge().value()).isEqualTo(7);
+        assertThat(meterRegistry.get("kafka.consumer.lag").tag("partition", "1").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("kafka.consumer.lag.total").gauge().value()).isEqualTo(10);
+    }
+
+    @Test
+    void recordProcessing_ignoresOtherGroups() {
+        when(lagSampler.sample(GROUP)).thenReturn(lag(5_000, 5_000));
+        controller.recordProcessing("other-group", 1, 10_000_000_000L);
+
+        controller.evaluate(1_000_000);
+
+        verify(container, never()).pause();
+    }
+
+    private void runResizeTasks() {
+        List<Runnable> tasks = new ArrayList<>(resizeTasks);
+        resizeTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static Map<TopicPartition, Long> lag(long... perPartition) {
+        Map<TopicPartition, Long> lag = new HashMap<>();
+        for (int partition = 0; partition < perPartition.length; partition++) {
+            lag.put(new TopicPartition("order.created", partition), perPartition[partition]);
+        }
+        return lag;
+    }
+}
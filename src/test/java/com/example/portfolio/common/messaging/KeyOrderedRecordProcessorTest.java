@@ -0,0 +1,77 @@
+package com.example.portfolio.common.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+class KeyOrderedRecordProcessorTest {
+
+    private final KeyOrderedRecordProcessor processor = new KeyOrderedRecordProcessor(new SimpleMeterRegistry(), 4, 100);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        processor.shutdown();
+    }
+
+    @Test
+    void process_keepsOrderPerKey_andLetsOtherKeysPassASlowRecord() {
+        CountDownLatch fastKeyDone = new CountDownLatch(1);
+        Map<String, List<Long>> seen = new ConcurrentHashMap<>();
+        List<ConsumerRecord<String, String>> records = List.of(
+                record(0, "slow"), record(1, "fast"), record(2, "slow"), record(3, "fast"));
+
+        processor.process(records, record -> {
+            if (record.key().equals("slow") && record.offset() == 0) {
+                await(fastKeyDone);
+            }
+            seen.computeIfAbsent(record.key(), key -> new ArrayList<>()).add(record.offset());
+            if (record.key().equals("fast") && record.offset() == 3) {
+                fastKeyDone.countDown();
+            }
+        });
+
+        assertThat(seen.get("slow")).containsExactly(0L, 2L);
+        assertThat(seen.get("fast")).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void process_reportsEarliestFailure_andSkipsLaterRecordsOfSameKey() {
+        List<Long> processed = new ArrayList<>();
+        List<ConsumerRecord<String, String>> records = List.of(
+                record(0, "a"), record(1, "b"), record(2, "b"), record(3, "a"));
+
+        assertThatThrownBy(() -> processor.process(records, record -> {
+            if (record.offset() == 1) {
+                throw new IllegalStateException("db down");
+            }
+            synchronized (processed) {
+                processed.add(record.offset());
+            }
+        })).isInstanceOfSatisfying(BatchListenerFailedException.class, ex -> assertThat(ex.getIndex()).isEqualTo(1));
+
+        assertThat(processed).doesNotContain(2L).contains(0L, 3L);
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String key) {
+        return new ConsumerRecord<>("order.created", 0, offset, key, "v" + offset);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
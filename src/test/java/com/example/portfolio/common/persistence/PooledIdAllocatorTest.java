@@ -0,0 +1,50 @@
+package com.example.portfolio.common.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class PooledIdAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PooledIdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new PooledIdAllocator(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void next_handsOutReservedBlock_beforeReservingAgain() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("outbox_events"))).thenReturn(100L, 150L);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PooledIdAllocator.ALLOCATION_SIZE + 1; i++) {
+            ids.add(allocator.next("outbox_events"));
+        }
+
+        assertThat(ids.get(0)).isEqualTo(51L);
+        assertThat(ids.get(PooledIdAllocator.ALLOCATION_SIZE - 1)).isEqualTo(100L);
+        assertThat(ids.get(PooledIdAllocator.ALLOCATION_SIZE)).isEqualTo(101L);
+        verify(jdbcTemplate, times(2)).update(anyString(), eq(PooledIdAllocator.ALLOCATION_SIZE), eq("outbox_events"));
+    }
+}
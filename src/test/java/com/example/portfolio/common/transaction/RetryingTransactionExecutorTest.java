@@ -0,0 +1,75 @@
+package com.example.portfolio.common.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.portfolio.common.exception.BusinessException;
+import com.example.portfolio.common.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class RetryingTransactionExecutorTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RetryingTransactionExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new RetryingTransactionExecutor(transactionManager, meterRegistry, new TransactionRetryProperties(3, 1, 2, 2.0));
+    }
+
+    @Test
+    void execute_retriesOptimisticLockFailure_untilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute("test.op", status -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.counter("transaction.retry.attempts", "operation", "test.op").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("transaction.retry.recovered", "operation", "test.op").count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_givesUpAfterBudget_withConflictError() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute("test.op", status -> {
+            calls.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+        }))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(ex -> assertThat(((BusinessException) ex).getErrorCode()).isEqualTo(ErrorCode.CONFLICT_ERROR));
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.counter("transaction.retry.exhausted", "operation", "test.op").count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_doesNotRetryBusinessFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute("test.op", status -> {
+            calls.incrementAndGet();
+            throw new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION, "invalid");
+        })).isInstanceOf(BusinessException.class);
+        assertThat(calls).hasValue(1);
+    }
+}
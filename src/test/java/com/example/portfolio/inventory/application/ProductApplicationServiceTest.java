@@ -3,16 +3,22 @@ package com.example.portfolio.inventory.application;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.example.portfolio.common.exception.BusinessException;
+import com.example.portfolio.common.transaction.RetryingTransactionExecutor;
+import com.example.portfolio.common.transaction.TransactionRetryProperties;
 import com.example.portfolio.inventory.domain.Product;
 import com.example.portfolio.inventory.domain.Stock;
 import com.example.portfolio.inventory.infra.ProductCacheService;
 import com.example.portfolio.inventory.infra.ProductRepository;
 import com.example.portfolio.inventory.infra.StockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +26,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class ProductApplicationServiceTest {
@@ -33,11 +40,31 @@ class ProductApplicationServiceTest {
     @Mock
     private ProductCacheService productCacheService;
 
+    @Mock
+    private StockPreReservationService stockPreReservationService;
+
+    @Mock
+    private StockStripingService stockStripingService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private ProductApplicationService productApplicationService;
 
     @BeforeEach
     void setUp() {
-        productApplicationService = new ProductApplicationService(productRepository, stockRepository, productCacheService);
+        productApplicationService = new ProductApplicationService(
+                productRepository,
+                stockRepository,
+                productCacheService,
+                stockPreReservationService,
+                stockStripingService,
+                stockLedgerService,
+                new RetryingTransactionExecutor(
+                        transactionManager, new SimpleMeterRegistry(), new TransactionRetryProperties(3, 1, 1, 2.0)));
     }
 
     @Test
@@ -79,4 +106,21 @@ class ProductApplicationServiceTest {
         assertThatThrownBy(() -> productApplicationService.adjustStock(new AdjustStockCommand(1L, -5)))
                 .isInstanceOf(BusinessException.class);
     }
+
+    @Test
+    void adjustStock_recordsRestockInLedger_withoutUpdatingStockRow() {
+        Product product = Product.create("SKU-1", "상품", "설명", BigDecimal.ONE);
+        ReflectionTestUtils.setField(product, "id", 1L);
+        Stock stock = Stock.initialize(product, 3);
+        ReflectionTestUtils.setField(stock, "productId", 1L);
+        when(stockRepository.findById(1L)).thenReturn(Optional.of(stock));
+        when(stockLedgerService.pendingQuantities(List.of(1L))).thenReturn(Map.of(1L, 5L));
+
+        ProductView view = productApplicationService.adjustStock(new AdjustStockCommand(1L, 5));
+
+        assertThat(view.quantity()).isEqualTo(8);
+        assertThat(stock.getQuantity()).isEqualTo(3);
+        verify(stockLedgerService).recordRestock(1L, 5);
+        verify(stockLedgerService, never()).compact(any());
+    }
 }
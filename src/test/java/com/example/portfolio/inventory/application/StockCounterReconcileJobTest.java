@@ -0,0 +1,81 @@
+package com.example.portfolio.inventory.application;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.portfolio.inventory.domain.Product;
+import com.example.portfolio.inventory.domain.Stock;
+import com.example.portfolio.inventory.infra.RedisStockCounter;
+import com.example.portfolio.inventory.infra.StockRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class StockCounterReconcileJobTest {
+
+    @Mock
+    private RedisStockCounter redisStockCounter;
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private StockStripingService stockStripingService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    private StockCounterReconcileJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new StockCounterReconcileJob(redisStockCounter, stockRepository, stockStripingService, stockLedgerService, true, 500);
+    }
+
+    @Test
+    void reconcile_snapshotsCountersBeforeDbRead_andOverwritesOnlyIfUnchanged() {
+        when(redisStockCounter.trackedProductIds()).thenReturn(Set.of(1L));
+        when(redisStockCounter.findAll(List.of(1L))).thenReturn(Map.of(1L, 7L));
+        when(stockRepository.findByProductIdIn(List.of(1L))).thenReturn(List.of(stock(1L, 10L)));
+        when(stockLedgerService.pendingQuantities(List.of(1L))).thenReturn(Map.of(1L, 2L));
+
+        job.reconcile();
+
+        InOrder order = inOrder(redisStockCounter, stockRepository);
+        order.verify(redisStockCounter).findAll(List.of(1L));
+        order.verify(stockRepository).findByProductIdIn(List.of(1L));
+        order.verify(redisStockCounter).compareAndSet(1L, 7L, 12L);
+    }
+
+    @Test
+    void reconcile_leavesCounterAlone_whenItMatchesDb() {
+        when(redisStockCounter.trackedProductIds()).thenReturn(Set.of(1L));
+        when(redisStockCounter.findAll(List.of(1L))).thenReturn(Map.of(1L, 10L));
+        when(stockRepository.findByProductIdIn(List.of(1L))).thenReturn(List.of(stock(1L, 10L)));
+
+        job.reconcile();
+
+        verify(redisStockCounter, never()).compareAndSet(eq(1L), anyLong(), anyLong());
+    }
+
+    private static Stock stock(Long productId, long quantity) {
+        Product product = Product.create("SKU-" + productId, "상품", "설명", BigDecimal.ONE);
+        ReflectionTestUtils.setField(product, "id", productId);
+        Stock stock = Stock.initialize(product, quantity);
+        ReflectionTestUtils.setField(stock, "productId", productId);
+        return stock;
+    }
+}
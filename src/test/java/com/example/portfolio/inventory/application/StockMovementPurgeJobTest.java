@@ -0,0 +1,35 @@
+package com.example.portfolio.inventory.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.portfolio.inventory.infra.StockMovementRepository;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StockMovementPurgeJobTest {
+
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+
+    @Test
+    void purgeApplied_deletesChunksPastRetentionUntilShortChunk() {
+        ArgumentCaptor<OffsetDateTime> cutoff = ArgumentCaptor.forClass(OffsetDateTime.class);
+        when(stockMovementRepository.deleteAppliedBefore(cutoff.capture(), eq(100)))
+                .thenReturn(100)
+                .thenReturn(3);
+
+        new StockMovementPurgeJob(stockMovementRepository, 30, 100).purgeApplied();
+
+        verify(stockMovementRepository, times(2)).deleteAppliedBefore(cutoff.getValue(), 100);
+        assertThat(cutoff.getValue()).isBefore(OffsetDateTime.now().minusDays(29));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.portfolio.inventory.application;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.example.portfolio.inventory.infra.RedisStockCounter;
+import com.example.portfolio.inventory.infra.StockRepository;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class StockPreReservationServiceTest {
+
+    @Mock
+    private RedisStockCounter redisStockCounter;
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private StockStripingService stockStripingService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    private StockPreReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StockPreReservationService(redisStockCounter, stockRepository, stockStripingService, stockLedgerService, true);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void applyAdjustmentsAfterCommit_creditsCounterOnlyAfterCommit() {
+        service.applyAdjustmentsAfterCommit(Map.of(1L, 2L));
+        verify(redisStockCounter, never()).incrementExisting(any(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(redisStockCounter).incrementExisting(List.of(1L), List.of(2L));
+    }
+
+    @Test
+    void applyAdjustmentsAfterCommit_leavesCounterUntouched_whenRolledBack() {
+        service.applyAdjustmentsAfterCommit(Map.of(1L, 2L));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(redisStockCounter, never()).incrementExisting(any(), any());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.portfolio.inventory.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.portfolio.inventory.infra.StockRepository;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private StockStripingService stockStripingService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    private StockReservationService stockReservationService;
+
+    @BeforeEach
+    void setUp() {
+        stockReservationService = new StockReservationService(stockRepository, stockStripingService, stockLedgerService);
+    }
+
+    @Test
+    void reserve_locksRowsInProductIdOrder_andReportsShortLines() {
+        Map<Long, Long> demand = new LinkedHashMap<>();
+        demand.put(30L, 1L);
+        demand.put(10L, 2L);
+        demand.put(20L, 5L);
+        when(stockRepository.decrementIfAvailable(10L, 2L)).thenReturn(1);
+        when(stockRepository.decrementIfAvailable(20L, 5L)).thenReturn(0);
+        when(stockRepository.decrementIfAvailable(30L, 1L)).thenReturn(1);
+
+        StockReservationResult result = stockReservationService.reserve(demand);
+
+        InOrder order = inOrder(stockRepository);
+        order.verify(stockRepository).decrementIfAvailable(10L, 2L);
+        order.verify(stockRepository).decrementIfAvailable(20L, 5L);
+        order.verify(stockRepository).decrementIfAvailable(30L, 1L);
+        assertThat(result.isFullyReserved()).isFalse();
+        assertThat(result.shortProductIds()).containsExactly(20L);
+        assertThat(result.reserved()).containsOnlyKeys(10L, 30L);
+    }
+
+    @Test
+    void reserve_defersCompactionOfRestockedShortLine_andAsksForRetry() {
+        when(stockRepository.decrementIfAvailable(10L, 1L)).thenReturn(1);
+        when(stockRepository.decrementIfAvailable(20L, 4L)).thenReturn(0);
+        when(stockLedgerService.pendingQuantities(List.of(20L))).thenReturn(Map.of(20L, 3L));
+
+        assertThatThrownBy(() -> stockReservationService.reserve(Map.of(10L, 1L, 20L, 4L)))
+                .isInstanceOf(ConcurrencyFailureException.class);
+
+        verify(stockLedgerService).compactAfterCompletion(List.of(20L));
+        verify(stockLedgerService, never()).compact(any());
+    }
+
+    @Test
+    void reserve_reportsShortage_whenNothingIsPendingForShortLine() {
+        when(stockRepository.decrementIfAvailable(20L, 4L)).thenReturn(0);
+        when(stockLedgerService.pendingQuantities(List.of(20L))).thenReturn(Map.of());
+
+        StockReservationResult result = stockReservationService.reserve(Map.of(20L, 4L));
+
+        assertThat(result.shortProductIds()).containsExactly(20L);
+        verify(stockLedgerService, never()).compactAfterCompletion(any());
+    }
+}
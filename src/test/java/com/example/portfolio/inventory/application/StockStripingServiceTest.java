@@ -0,0 +1,124 @@
+package com.example.portfolio.inventory.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.portfolio.inventory.domain.Product;
+import com.example.portfolio.inventory.domain.Stock;
+import com.example.portfolio.inventory.domain.StockStripe;
+import com.example.portfolio.inventory.infra.StockRepository;
+import com.example.portfolio.inventory.infra.StockStripeRepository;
+import com.example.portfolio.inventory.infra.StockStripeRepository.StripeQuantity;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class StockStripingServiceTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private StockStripeRepository stockStripeRepository;
+
+    private StockStripingService stockStripingService;
+
+    @BeforeEach
+    void setUp() {
+        stockStripingService = new StockStripingService(stockRepository, stockStripeRepository, 64);
+    }
+
+    @Test
+    void decrement_takesPickedStripe_withoutLockingTheRest() {
+        when(stockStripeRepository.pickAvailableForUpdate(1L, 3L)).thenReturn(Optional.of(2));
+
+        boolean reserved = stockStripingService.decrement(1L, 3L, List.of(stripe(0, 1L), stripe(1, 2L), stripe(2, 5L)));
+
+        assertThat(reserved).isTrue();
+        verify(stockStripeRepository).decrementIfAvailable(1L, 2, 3L);
+        verify(stockStripeRepository, never()).lockUnclaimedQuantities(any());
+    }
+
+    @Test
+    void decrement_splitsAcrossUnclaimedStripes_whenNoSingleStripeSuffices() {
+        when(stockStripeRepository.pickAvailableForUpdate(1L, 3L)).thenReturn(Optional.empty());
+        when(stockStripeRepository.lockUnclaimedQuantities(1L)).thenReturn(List.of(stripe(0, 2L), stripe(1, 2L)));
+
+        boolean reserved = stockStripingService.decrement(1L, 3L, List.of(stripe(0, 2L), stripe(1, 2L)));
+
+        assertThat(reserved).isTrue();
+        verify(stockStripeRepository).decrementIfAvailable(1L, 0, 2L);
+        verify(stockStripeRepository).decrementIfAvailable(1L, 1, 1L);
+    }
+
+    @Test
+    void decrement_reportsShortage_whenStripesSumIsInsufficient() {
+        when(stockStripeRepository.pickAvailableForUpdate(1L, 3L)).thenReturn(Optional.empty());
+        when(stockStripeRepository.lockUnclaimedQuantities(1L)).thenReturn(List.of(stripe(0, 1L), stripe(1, 1L)));
+
+        assertThat(stockStripingService.decrement(1L, 3L, List.of(stripe(0, 1L), stripe(1, 1L)))).isFalse();
+        verify(stockStripeRepository, never()).decrementIfAvailable(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    void decrement_reportsRetryableConflict_whenClaimedStripesMightCoverTheShortfall() {
+        when(stockStripeRepository.pickAvailableForUpdate(1L, 3L)).thenReturn(Optional.empty());
+        when(stockStripeRepository.lockUnclaimedQuantities(1L)).thenReturn(List.of(stripe(0, 2L)));
+
+        assertThatThrownBy(() -> stockStripingService.decrement(1L, 3L, List.of(stripe(0, 2L), stripe(1, 2L))))
+                .isInstanceOf(CannotAcquireLockException.class);
+        verify(stockStripeRepository, never()).decrementIfAvailable(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    void restripe_movesBaseQuantityIntoEvenStripes() {
+        Product product = Product.create("SKU", "상품", "설명", BigDecimal.TEN);
+        Stock stock = Stock.initialize(product, 10L);
+        ReflectionTestUtils.setField(stock, "productId", 1L);
+        StockStripe existing = StockStripe.of(1L, 0, 0L);
+        when(stockRepository.findAllForUpdate(List.of(1L))).thenReturn(List.of(stock));
+        when(stockStripeRepository.findAllForUpdate(1L)).thenReturn(List.of(existing));
+
+        StockStripeLayout layout = stockStripingService.restripe(1L, 3);
+
+        assertThat(layout.baseQuantity()).isZero();
+        assertThat(layout.stripeQuantities()).containsExactly(4L, 3L, 3L);
+        assertThat(layout.totalQuantity()).isEqualTo(10L);
+        assertThat(existing.getQuantity()).isEqualTo(4L);
+        verify(stockStripeRepository, times(2)).save(any(StockStripe.class));
+    }
+
+    private StripeQuantity stripe(int stripeNo, long quantity) {
+        return new StripeQuantity() {
+            @Override
+            public Long getProductId() {
+                return 1L;
+            }
+
+            @Override
+            public Integer getStripeNo() {
+                return stripeNo;
+            }
+
+            @Override
+            public Long getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
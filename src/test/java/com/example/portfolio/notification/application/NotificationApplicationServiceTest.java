@@ -1,47 +1,92 @@
 package com.example.portfolio.notification.application;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.example.portfolio.notification.domain.Notification;
-import com.example.portfolio.notification.infra.NotificationRepository;
-import java.util.Optional;
+import com.example.portfolio.common.dedup.ProcessedEventStore;
+import com.example.portfolio.common.persistence.PooledIdAllocator;
+import com.example.portfolio.notification.infra.NotificationBatchRepository;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationApplicationServiceTest {
 
     @Mock
-    private NotificationRepository notificationRepository;
+    private NotificationBatchRepository notificationBatchRepository;
+
+    @Mock
+    private ProcessedEventStore processedEventStore;
 
     private NotificationApplicationService service;
 
     @BeforeEach
     void setUp() {
-        service = new NotificationApplicationService(notificationRepository);
+        service = new NotificationApplicationService(notificationBatchRepository, processedEventStore);
     }
 
     @Test
-    void save_skips_whenAlreadyExists() {
-        when(notificationRepository.findByEventId("evt-1")).thenReturn(Optional.of(Notification.received("evt-1", 1L, 1L, "msg")));
+    void save_skips_whenAlreadyProcessed() {
+        when(processedEventStore.findProcessed("notification", List.of("evt-1"))).thenReturn(Set.of("evt-1"));
 
         service.saveOrderCreatedNotification("evt-1", 1L, 1L, "msg");
 
-        verify(notificationRepository, never()).save(any());
+        verify(notificationBatchRepository, never()).insertIgnoringDuplicates(any());
     }
 
     @Test
-    void save_persists_whenNew() {
-        when(notificationRepository.findByEventId("evt-1")).thenReturn(Optional.empty());
+    void save_persistsAndMarksProcessed_whenNew() {
+        when(processedEventStore.findProcessed("notification", List.of("evt-1"))).thenReturn(Set.of());
 
         service.saveOrderCreatedNotification("evt-1", 1L, 1L, "msg");
 
-        verify(notificationRepository).save(any(Notification.class));
+        verify(notificationBatchRepository).insertIgnoringDuplicates(argThat(rows -> rows.size() == 1
+                && rows.get(0).getEventId().equals("evt-1")));
+        verify(processedEventStore).markProcessed("notification", List.of("evt-1"));
+    }
+
+    @Test
+    void save_skipsExistingRow_whenFilterMissesAfterRebalance() {
+        // 다른 레플리카가 저장한 이벤트가 재전달된 경우: 필터는 모르고 행은 이미 있어 INSERT가 0건을 반영한다.
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PooledIdAllocator idAllocator = mock(PooledIdAllocator.class);
+        when(idAllocator.next("notifications")).thenReturn(100L);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(0);
+        when(processedEventStore.findProcessed("notification", List.of("evt-1"))).thenReturn(Set.of());
+        NotificationApplicationService withRealInsert =
+                new NotificationApplicationService(new NotificationBatchRepository(jdbcTemplate, idAllocator), processedEventStore);
+
+        withRealInsert.saveOrderCreatedNotification("evt-1", 1L, 1L, "msg");
+
+        verify(jdbcTemplate).update(argThat((String sql) -> sql.endsWith("ON DUPLICATE KEY UPDATE id = IF(event_id = VALUES(event_id), id, NULL)")),
+                any(Object[].class));
+        verify(processedEventStore).markProcessed("notification", List.of("evt-1"));
+    }
+
+    @Test
+    void saveBatch_insertsOnlyUnprocessedEvents_inOneStatement() {
+        when(processedEventStore.findProcessed(eq("notification"), any())).thenReturn(Set.of("evt-2"));
+
+        service.saveOrderCreatedNotifications(List.of(
+                new OrderCreatedNotification("evt-1", 1L, 1L, "msg"),
+                new OrderCreatedNotification("evt-2", 2L, 1L, "msg"),
+                new OrderCreatedNotification("evt-1", 1L, 1L, "msg"),
+                new OrderCreatedNotification("evt-3", 3L, 1L, "msg")));
+
+        verify(notificationBatchRepository).insertIgnoringDuplicates(argThat(rows -> rows.size() == 2
+                && rows.get(0).getEventId().equals("evt-1") && rows.get(1).getEventId().equals("evt-3")));
+        verify(processedEventStore).markProcessed("notification", List.of("evt-1", "evt-3"));
     }
 }
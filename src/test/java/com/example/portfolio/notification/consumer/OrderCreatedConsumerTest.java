@@ -0,0 +1,73 @@
+package com.example.portfolio.notification.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.example.portfolio.common.messaging.EventCodecProperties;
+import com.example.portfolio.common.messaging.EventCodecRegistry;
+import com.example.portfolio.common.messaging.KeyOrderedRecordProcessor;
+import com.example.portfolio.notification.application.NotificationApplicationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+@ExtendWith(MockitoExtension.class)
+class OrderCreatedConsumerTest {
+
+    @Mock
+    private NotificationApplicationService notificationApplicationService;
+
+    private OrderCreatedConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        EventCodecRegistry eventCodecRegistry = new EventCodecRegistry(
+                new ObjectMapper().findAndRegisterModules(), List.of(), new EventCodecProperties(null, Map.of()));
+        consumer = new OrderCreatedConsumer(notificationApplicationService, eventCodecRegistry,
+                new KeyOrderedRecordProcessor(new SimpleMeterRegistry(), 2, 10));
+    }
+
+    @Test
+    void consumeBatch_savesWholePollInOneCall() {
+        consumer.consumeBatch(List.of(record(1, 10), record(2, 11)));
+
+        verify(notificationApplicationService).saveOrderCreatedNotifications(
+                argThat(rows -> rows.size() == 2 && rows.get(1).orderId() == 11L));
+        verify(notificationApplicationService, never()).saveOrderCreatedNotification(any(), any(), any(), any());
+    }
+
+    @Test
+    void consumeBatch_fallsBackToPerRecordSaves_andReportsFailingIndex() {
+        doThrow(new DataIntegrityViolationException("fk")).when(notificationApplicationService).saveOrderCreatedNotifications(any());
+        lenient().doThrow(new DataIntegrityViolationException("fk")).when(notificationApplicationService)
+                .saveOrderCreatedNotification(eq("2"), eq(11L), any(), any());
+
+        assertThatThrownBy(() -> consumer.consumeBatch(List.of(record(1, 10), record(2, 11), record(3, 12))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, ex -> assertThat(ex.getIndex()).isEqualTo(1));
+
+        verify(notificationApplicationService).saveOrderCreatedNotification(eq("1"), eq(10L), any(), any());
+        verify(notificationApplicationService, never()).saveOrderCreatedNotification(eq("3"), any(), any(), any());
+    }
+
+    private static ConsumerRecord<String, byte[]> record(long eventId, long orderId) {
+        String json = "{\"eventId\":" + eventId + ",\"order\":{\"id\":" + orderId + ",\"userId\":1}}";
+        return new ConsumerRecord<>("order.created", 0, eventId, String.valueOf(orderId), json.getBytes(StandardCharsets.UTF_8));
+    }
+}
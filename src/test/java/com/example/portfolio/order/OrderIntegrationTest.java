@@ -2,6 +2,7 @@ package com.example.portfolio.order;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.example.portfolio.inventory.application.StockStripingService;
 import com.example.portfolio.inventory.domain.Product;
 import com.example.portfolio.inventory.domain.Stock;
 import com.example.portfolio.inventory.infra.ProductRepository;
@@ -20,6 +21,7 @@ import com.example.portfolio.user.domain.User;
 import com.example.portfolio.user.domain.UserRole;
 import com.example.portfolio.user.infra.UserRepository;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +37,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -101,7 +104,7 @@ class OrderIntegrationTest {
     private OutboxEventRepository outboxEventRepository;
 
     @Autowired
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
 
     @Value("${app.kafka.topics.order-created:order.created}")
     private String orderCreatedTopic;
@@ -109,6 +112,12 @@ class OrderIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private StockStripingService stockStripingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         notificationRepository.deleteAll();
@@ -200,6 +209,51 @@ class OrderIntegrationTest {
         assertThat(orderRepository.count()).isEqualTo(successCount);
     }
 
+    @Test
+    void concurrentOrdersOnStripedProductNeverDeadlockOrOverdraw() throws Exception {
+        User savedUser = userRepository.save(User.create("stripe@example.com", passwordEncoder.encode("password"), "Striped", UserRole.USER));
+        Product savedProduct = productRepository.save(Product.create("SKU-HOT", "인기상품", "설명", BigDecimal.valueOf(9)));
+        int initialQuantity = 40;
+        stockRepository.save(Stock.initialize(savedProduct, initialQuantity));
+        stockStripingService.restripe(savedProduct.getId(), 4);
+        long deadlocksBefore = innodbDeadlocks();
+
+        int attempts = 60;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            int quantity = i % 3 + 1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderApplicationService.createOrder(new CreateOrderCommand(
+                            savedUser.getId(), UUID.randomUUID().toString(), "hash",
+                            List.of(new OrderLineCommand(savedProduct.getId(), quantity))));
+                    return true;
+                } catch (RuntimeException ex) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        long sold = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (futures.get(i).get()) {
+                sold += i % 3 + 1;
+            }
+        }
+        long remaining = stockRepository.findById(savedProduct.getId()).orElseThrow().getQuantity()
+                + stockStripingService.stripedQuantities(List.of(savedProduct.getId())).getOrDefault(savedProduct.getId(), 0L);
+
+        assertThat(remaining).isGreaterThanOrEqualTo(0);
+        assertThat(sold + remaining).isEqualTo(initialQuantity);
+        assertThat(innodbDeadlocks()).isEqualTo(deadlocksBefore);
+    }
+
     @Test
     void duplicateEventConsumptionRemainsIdempotent() throws Exception {
         User savedUser = userRepository.save(User.create("event@example.com", passwordEncoder.encode("password"), "Notifier", UserRole.USER));
@@ -222,10 +276,17 @@ class OrderIntegrationTest {
         OutboxEvent event = outboxEventRepository.findAll().stream()
                 .findFirst()
                 .orElseThrow();
-        kafkaTemplate.send(orderCreatedTopic, event.getAggregateId(), event.getPayload()).get(5, TimeUnit.SECONDS);
+        kafkaTemplate.send(orderCreatedTopic, event.getAggregateId(), event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .get(5, TimeUnit.SECONDS);
 
         Awaitility.await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
             assertThat(notificationRepository.count()).isEqualTo(1);
         });
     }
+
+    private long innodbDeadlocks() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT `COUNT` FROM information_schema.INNODB_METRICS WHERE NAME = 'lock_deadlocks'", Long.class);
+        return count == null ? 0 : count;
+    }
 }
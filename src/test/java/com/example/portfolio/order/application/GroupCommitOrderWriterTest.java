@@ -0,0 +1,94 @@
+package com.example.portfolio.order.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.portfolio.common.exception.BusinessException;
+import com.example.portfolio.common.exception.ErrorCode;
+import com.example.portfolio.common.transaction.RetryingTransactionExecutor;
+import com.example.portfolio.common.transaction.TransactionRetryProperties;
+import com.example.portfolio.order.domain.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitOrderWriterTest {
+
+    @Mock
+    private OrderWriter orderWriter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GroupCommitOrderWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RetryingTransactionExecutor transactionExecutor = new RetryingTransactionExecutor(
+                transactionManager, meterRegistry, new TransactionRetryProperties(1, 1, 1, 2.0));
+        writer = new GroupCommitOrderWriter(orderWriter, transactionExecutor, meterRegistry, true, 2, 200, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.shutdown();
+    }
+
+    @Test
+    void submit_completesEachCallerWithItsOwnResult() throws Exception {
+        CreateOrderCommand first = command("k1");
+        CreateOrderCommand second = command("k2");
+        when(orderWriter.placeOrders(List.of(first, second))).thenReturn(List.of(
+                BatchOrderResult.created(view(1L, "k1")),
+                BatchOrderResult.rejected("k2", ErrorCode.BUSINESS_RULE_VIOLATION, "재고가 부족합니다.")));
+
+        CompletableFuture<OrderPlacement> firstFuture = writer.submit(first);
+        CompletableFuture<OrderPlacement> secondFuture = writer.submit(second);
+
+        assertThat(firstFuture.get(5, TimeUnit.SECONDS).order().id()).isEqualTo(1L);
+        assertThat(secondFuture).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void submit_fallsBackToSingleTransactions_whenBatchFails() throws Exception {
+        CreateOrderCommand first = command("k1");
+        CreateOrderCommand second = command("k2");
+        when(orderWriter.placeOrders(any())).thenThrow(new IllegalStateException("poison"));
+        when(orderWriter.placeOrder(first)).thenReturn(new OrderPlacement(view(1L, "k1"), false));
+        when(orderWriter.placeOrder(second)).thenThrow(new IllegalStateException("poison"));
+
+        CompletableFuture<OrderPlacement> firstFuture = writer.submit(first);
+        CompletableFuture<OrderPlacement> secondFuture = writer.submit(second);
+
+        assertThat(firstFuture.get(5, TimeUnit.SECONDS).order().id()).isEqualTo(1L);
+        assertThat(secondFuture).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalStateException.class);
+        verify(orderWriter).placeOrder(first);
+    }
+
+    private CreateOrderCommand command(String key) {
+        return new CreateOrderCommand(1L, key, "hash", List.of(new OrderLineCommand(1L, 1)));
+    }
+
+    private OrderView view(Long id, String key) {
+        return new OrderView(id, 1L, OrderStatus.CREATED, BigDecimal.TEN, key, OffsetDateTime.now(), List.of());
+    }
+}
@@ -3,29 +3,53 @@ package com.example.portfolio.order.application;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.example.portfolio.common.exception.BusinessException;
+import com.example.portfolio.common.exception.ErrorCode;
+import com.example.portfolio.common.persistence.PooledIdAllocator;
+import com.example.portfolio.common.transaction.RetryingTransactionExecutor;
+import com.example.portfolio.common.transaction.TransactionRetryProperties;
+import com.example.portfolio.inventory.application.StockLedgerService;
+import com.example.portfolio.inventory.application.StockPreReservationService;
+import com.example.portfolio.inventory.application.StockReservationResult;
+import com.example.portfolio.inventory.application.StockReservationService;
+import com.example.portfolio.inventory.application.StockShortage;
 import com.example.portfolio.inventory.domain.Product;
-import com.example.portfolio.inventory.domain.Stock;
 import com.example.portfolio.inventory.infra.ProductRepository;
-import com.example.portfolio.inventory.infra.StockRepository;
+import com.example.portfolio.order.domain.IdempotencyRecord;
 import com.example.portfolio.order.domain.Order;
+import com.example.portfolio.order.domain.OrderItem;
+import com.example.portfolio.order.domain.OrderStatus;
 import com.example.portfolio.order.domain.OutboxEvent;
+import com.example.portfolio.order.infra.IdempotencyRecordRepository;
+import com.example.portfolio.order.infra.IdempotencyResponseCache;
 import com.example.portfolio.order.infra.OrderRepository;
 import com.example.portfolio.order.infra.OutboxEventRepository;
+import com.example.portfolio.order.infra.OutboxFastPathPublisher;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class OrderApplicationServiceTest {
@@ -36,55 +60,112 @@ class OrderApplicationServiceTest {
     @Mock
     private OutboxEventRepository outboxEventRepository;
 
+    @Mock
+    private OutboxFastPathPublisher outboxFastPathPublisher;
+
     @Mock
     private ProductRepository productRepository;
 
     @Mock
-    private StockRepository stockRepository;
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private StockPreReservationService stockPreReservationService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private PooledIdAllocator idAllocator;
 
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private IdempotencyResponseCache idempotencyResponseCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private OrderApplicationService orderApplicationService;
 
     @BeforeEach
     void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RetryingTransactionExecutor transactionExecutor = new RetryingTransactionExecutor(
+                transactionManager, meterRegistry, new TransactionRetryProperties(3, 1, 1, 2.0));
+        OrderWriter orderWriter = new OrderWriter(orderRepository, outboxEventRepository, outboxFastPathPublisher, productRepository,
+                stockReservationService, stockLedgerService, idempotencyRecordRepository, idAllocator, objectMapper, 7);
         orderApplicationService = new OrderApplicationService(
-                orderRepository, outboxEventRepository, productRepository, stockRepository, objectMapper);
+                orderRepository,
+                orderWriter,
+                idempotencyResponseCache,
+                new GroupCommitOrderWriter(orderWriter, transactionExecutor, meterRegistry, false, 32, 5, 100),
+                stockPreReservationService,
+                stockLedgerService,
+                transactionExecutor,
+                1000);
     }
 
     @Test
     void createOrder_returnsExisting_whenIdempotencyKeyFound() {
         Order existing = Order.create(1L, "key", "hash");
         ReflectionTestUtils.setField(existing, "id", 10L);
-        when(orderRepository.findByIdempotencyKey("key")).thenReturn(Optional.of(existing));
+        when(idempotencyRecordRepository.findById("key"))
+                .thenReturn(Optional.of(IdempotencyRecord.completed("key", "hash", 10L, null, OffsetDateTime.now())));
+        when(orderRepository.findById(10L)).thenReturn(Optional.of(existing));
 
         OrderView result = orderApplicationService.createOrder(
                 new CreateOrderCommand(1L, "key", "hash", List.of(new OrderLineCommand(1L, 1))));
 
         assertThat(result.id()).isEqualTo(10L);
         verify(orderRepository, never()).save(any());
+        verifyNoInteractions(stockPreReservationService);
+    }
+
+    @Test
+    void createOrder_replaysCachedResponse_withoutTouchingDatabase() {
+        OrderView cachedView = new OrderView(10L, 1L, OrderStatus.CREATED, BigDecimal.TEN, "key", OffsetDateTime.now(), List.of());
+        when(idempotencyResponseCache.find("key")).thenReturn(Optional.of(new IdempotentOrderResponse("hash", cachedView)));
+
+        OrderView result = orderApplicationService.createOrder(
+                new CreateOrderCommand(1L, "key", "hash", List.of(new OrderLineCommand(1L, 1))));
+
+        assertThat(result.id()).isEqualTo(10L);
+        verifyNoInteractions(orderRepository, stockPreReservationService, transactionManager);
+    }
+
+    @Test
+    void createOrder_rejectsReplay_whenRequestHashDiffers() {
+        when(idempotencyRecordRepository.findById("key"))
+                .thenReturn(Optional.of(IdempotencyRecord.completed("key", "hash", 10L, "{}", OffsetDateTime.now())));
+
+        assertThatThrownBy(() -> orderApplicationService.createOrder(
+                new CreateOrderCommand(1L, "key", "other-hash", List.of(new OrderLineCommand(1L, 1)))))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.CONFLICT_ERROR);
+        verify(idempotencyResponseCache, never()).save(any(), any());
     }
 
     @Test
     void createOrder_persistsOrderAndOutbox() throws Exception {
-        when(orderRepository.findByIdempotencyKey("key")).thenReturn(Optional.empty());
         Product product = Product.create("SKU", "상품", "설명", BigDecimal.TEN);
         ReflectionTestUtils.setField(product, "id", 1L);
-        Stock stock = Stock.initialize(product, 5);
         when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
-        when(stockRepository.findById(1L)).thenReturn(Optional.of(stock));
+        when(stockReservationService.reserve(Map.of(1L, 2L)))
+                .thenReturn(new StockReservationResult(Map.of(1L, 2L), List.of()));
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
             ReflectionTestUtils.setField(order, "id", 100L);
             return order;
         });
-        when(outboxEventRepository.save(any(OutboxEvent.class))).thenAnswer(invocation -> {
-            OutboxEvent event = invocation.getArgument(0);
-            ReflectionTestUtils.setField(event, "id", 200L);
-            return event;
-        });
+        when(idAllocator.next("outbox_events")).thenReturn(200L);
+        when(outboxEventRepository.save(any(OutboxEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         OrderView result = orderApplicationService.createOrder(
                 new CreateOrderCommand(1L, "key", "hash", List.of(new OrderLineCommand(1L, 2))));
@@ -92,8 +173,205 @@ class OrderApplicationServiceTest {
         assertThat(result.id()).isEqualTo(100L);
         assertThat(result.items()).hasSize(1);
         assertThat(result.items().get(0).quantity()).isEqualTo(2);
-        verify(outboxEventRepository).save(any(OutboxEvent.class));
-        assertThat(stock.getQuantity()).isEqualTo(3);
+        ArgumentCaptor<OutboxEvent> outbox = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(outbox.capture());
+        assertThat(outbox.getValue().getId()).isEqualTo(200L);
+        assertThat(outbox.getValue().isNew()).isTrue();
+        verify(outboxFastPathPublisher).publishAfterCommit(List.of(200L));
+        verify(objectMapper).writeValueAsString(new OrderCreatedEvent(200L, result));
+        verify(stockReservationService).reserve(Map.of(1L, 2L));
+        verify(idempotencyResponseCache).save("key", new IdempotentOrderResponse("hash", result));
+        verify(idempotencyRecordRepository).save(any(IdempotencyRecord.class));
+        verify(stockLedgerService).recordOrder(100L, Map.of(1L, 2L));
+    }
+
+    @Test
+    void createOrder_fails_whenStockShort() {
+        Product product = Product.create("SKU", "상품", "설명", BigDecimal.TEN);
+        ReflectionTestUtils.setField(product, "id", 1L);
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+        when(stockReservationService.reserve(Map.of(1L, 3L)))
+                .thenReturn(new StockReservationResult(Map.of(), List.of(new StockShortage(1L, 3L))));
+
+        assertThatThrownBy(() -> orderApplicationService.createOrder(new CreateOrderCommand(
+                1L, "key", "hash", List.of(new OrderLineCommand(1L, 1), new OrderLineCommand(1L, 2)))))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("[1]");
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void createOrder_releasesPreReservation_whenTransactionFails() {
+        when(stockPreReservationService.reserve(Map.of(1L, 1L))).thenReturn(true);
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> orderApplicationService.createOrder(
+                new CreateOrderCommand(1L, "key", "hash", List.of(new OrderLineCommand(1L, 1)))))
+                .isInstanceOf(BusinessException.class);
+        verify(stockPreReservationService).release(Map.of(1L, 1L));
+    }
+
+    @Test
+    void createOrder_keepsPreReservation_whenGroupCommitTimesOut_untilBatchOutcomeIsKnown() {
+        CreateOrderCommand command = new CreateOrderCommand(1L, "key", "hash", List.of(new OrderLineCommand(1L, 1)));
+        CompletableFuture<OrderPlacement> committed = new CompletableFuture<>();
+        CompletableFuture<OrderPlacement> failed = new CompletableFuture<>();
+        GroupCommitOrderWriter groupCommit = mock(GroupCommitOrderWriter.class);
+        when(groupCommit.isEnabled()).thenReturn(true);
+        when(groupCommit.submit(any())).thenReturn(committed, failed);
+        when(stockPreReservationService.reserve(Map.of(1L, 1L))).thenReturn(true);
+        OrderApplicationService service = new OrderApplicationService(orderRepository,
+                new OrderWriter(orderRepository, outboxEventRepository, outboxFastPathPublisher, productRepository,
+                        stockReservationService, stockLedgerService, idempotencyRecordRepository, idAllocator, objectMapper, 7),
+                idempotencyResponseCache, groupCommit, stockPreReservationService, stockLedgerService,
+                new RetryingTransactionExecutor(transactionManager, new SimpleMeterRegistry(), new TransactionRetryProperties(3, 1, 1, 2.0)),
+                10);
+
+        assertThatThrownBy(() -> service.createOrder(command)).isInstanceOf(BusinessException.class);
+        committed.complete(new OrderPlacement(
+                new OrderView(10L, 1L, OrderStatus.CREATED, BigDecimal.TEN, "key", OffsetDateTime.now(), List.of()), false));
+        verify(stockPreReservationService, never()).release(any());
+
+        assertThatThrownBy(() -> service.createOrder(command)).isInstanceOf(BusinessException.class);
+        verify(stockPreReservationService, never()).release(any());
+        failed.completeExceptionally(new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION, "재고가 부족합니다."));
+        verify(stockPreReservationService).release(Map.of(1L, 1L));
+    }
+
+    @Test
+    void createOrders_createsReplaysAndRejectsPerOrder() throws Exception {
+        Order existing = Order.create(1L, "dup", "hash");
+        ReflectionTestUtils.setField(existing, "id", 10L);
+        when(idempotencyRecordRepository.findAllById(List.of("new", "dup", "short")))
+                .thenReturn(List.of(IdempotencyRecord.completed("dup", "hash", 10L, null, OffsetDateTime.now())));
+        when(orderRepository.findById(10L)).thenReturn(Optional.of(existing));
+        Product product = Product.create("SKU", "상품", "설명", BigDecimal.TEN);
+        ReflectionTestUtils.setField(product, "id", 1L);
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+        when(stockReservationService.availableQuantities(any())).thenReturn(Map.of(1L, 3L));
+        when(stockReservationService.reserve(Map.of(1L, 2L)))
+                .thenReturn(new StockReservationResult(Map.of(1L, 2L), List.of()));
+        when(orderRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Order> orders = new ArrayList<>();
+            invocation.<Iterable<Order>>getArgument(0).forEach(orders::add);
+            orders.forEach(order -> ReflectionTestUtils.setField(order, "id", 100L));
+            return orders;
+        });
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        List<BatchOrderResult> results = orderApplicationService.createOrders(List.of(
+                new CreateOrderCommand(1L, "new", "hash", List.of(new OrderLineCommand(1L, 2))),
+                new CreateOrderCommand(1L, "dup", "hash", List.of(new OrderLineCommand(1L, 1))),
+                new CreateOrderCommand(1L, "short", "hash", List.of(new OrderLineCommand(1L, 2)))));
+
+        assertThat(results).extracting(BatchOrderResult::status)
+                .containsExactly(BatchOrderStatus.CREATED, BatchOrderStatus.REPLAYED, BatchOrderStatus.REJECTED);
+        assertThat(results.get(1).order().id()).isEqualTo(10L);
+        assertThat(results.get(2).message()).contains("[1]");
+        verify(productRepository).findAllById(List.of(1L));
+        verify(stockReservationService).reserve(Map.of(1L, 2L));
+        verify(outboxEventRepository).saveAll(argThat(events -> events.iterator().hasNext()));
+    }
+
+    @Test
+    void createOrders_preReservesNewKeysOnly_andReleasesOrdersThatWereNotCreated() throws Exception {
+        when(idempotencyRecordRepository.findAllById(List.of("new", "dup", "sold-out", "short")))
+                .thenReturn(List.of(IdempotencyRecord.completed("dup", "hash", 10L, "{}", OffsetDateTime.now())));
+        when(idempotencyRecordRepository.findAllById(List.of("new", "dup", "short")))
+                .thenReturn(List.of(IdempotencyRecord.completed("dup", "hash", 10L, "{}", OffsetDateTime.now())));
+        when(stockPreReservationService.reserve(Map.of(1L, 2L))).thenReturn(true);
+        when(stockPreReservationService.reserve(Map.of(2L, 1L)))
+                .thenThrow(new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION, "재고가 부족합니다. productIds=[2]"));
+        when(stockPreReservationService.reserve(Map.of(1L, 5L))).thenReturn(true);
+        Product product = Product.create("SKU", "상품", "설명", BigDecimal.TEN);
+        ReflectionTestUtils.setField(product, "id", 1L);
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+        when(stockReservationService.availableQuantities(any())).thenReturn(Map.of(1L, 3L));
+        when(stockReservationService.reserve(Map.of(1L, 2L)))
+                .thenReturn(new StockReservationResult(Map.of(1L, 2L), List.of()));
+        when(orderRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Order> orders = new ArrayList<>();
+            invocation.<Iterable<Order>>getArgument(0).forEach(orders::add);
+            orders.forEach(order -> ReflectionTestUtils.setField(order, "id", 100L));
+            return orders;
+        });
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        when(objectMapper.readValue("{}", OrderView.class))
+                .thenReturn(new OrderView(10L, 1L, OrderStatus.CREATED, BigDecimal.TEN, "dup", OffsetDateTime.now(), List.of()));
+
+        List<BatchOrderResult> results = orderApplicationService.createOrders(List.of(
+                new CreateOrderCommand(1L, "new", "hash", List.of(new OrderLineCommand(1L, 2))),
+                new CreateOrderCommand(1L, "dup", "hash", List.of(new OrderLineCommand(1L, 1))),
+                new CreateOrderCommand(1L, "sold-out", "hash", List.of(new OrderLineCommand(2L, 1))),
+                new CreateOrderCommand(1L, "short", "hash", List.of(new OrderLineCommand(1L, 5)))));
+
+        assertThat(results).extracting(BatchOrderResult::status).containsExactly(
+                BatchOrderStatus.CREATED, BatchOrderStatus.REPLAYED, BatchOrderStatus.REJECTED, BatchOrderStatus.REJECTED);
+        assertThat(results.get(2).message()).contains("[2]");
+        verify(stockPreReservationService, never()).reserve(Map.of(1L, 1L));
+        verify(stockPreReservationService).release(Map.of(1L, 5L));
+        verify(stockPreReservationService, never()).release(Map.of(1L, 2L));
+    }
+
+    @Test
+    void createOrders_rejectsRepeatedKeyInBatch_whenPayloadDiffers() throws Exception {
+        when(idempotencyRecordRepository.findAllById(List.of("key"))).thenReturn(List.of());
+        Product product = Product.create("SKU", "상품", "설명", BigDecimal.TEN);
+        ReflectionTestUtils.setField(product, "id", 1L);
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+        when(stockReservationService.availableQuantities(any())).thenReturn(Map.of(1L, 10L));
+        when(stockReservationService.reserve(Map.of(1L, 1L)))
+                .thenReturn(new StockReservationResult(Map.of(1L, 1L), List.of()));
+        when(orderRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Order> orders = new ArrayList<>();
+            invocation.<Iterable<Order>>getArgument(0).forEach(orders::add);
+            orders.forEach(order -> ReflectionTestUtils.setField(order, "id", 100L));
+            return orders;
+        });
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        List<BatchOrderResult> results = orderApplicationService.createOrders(List.of(
+                new CreateOrderCommand(1L, "key", "hash", List.of(new OrderLineCommand(1L, 1))),
+                new CreateOrderCommand(1L, "key", "other-hash", List.of(new OrderLineCommand(1L, 5))),
+                new CreateOrderCommand(1L, "key", "hash", List.of(new OrderLineCommand(1L, 1)))));
+
+        assertThat(results).extracting(BatchOrderResult::status)
+                .containsExactly(BatchOrderStatus.CREATED, BatchOrderStatus.REJECTED, BatchOrderStatus.REPLAYED);
+        assertThat(results.get(1).errorCode()).isEqualTo(ErrorCode.CONFLICT_ERROR);
+        verify(stockReservationService).reserve(Map.of(1L, 1L));
+    }
+
+    @Test
+    void createOrders_replansBatch_whenGuardedDecrementLosesRaceAfterUnlockedRead() throws Exception {
+        when(idempotencyRecordRepository.findAllById(List.of("key"))).thenReturn(List.of());
+        Product product = Product.create("SKU", "상품", "설명", BigDecimal.TEN);
+        ReflectionTestUtils.setField(product, "id", 1L);
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+        when(stockReservationService.availableQuantities(any())).thenReturn(Map.of(1L, 5L), Map.of(1L, 1L));
+        when(stockReservationService.reserve(Map.of(1L, 2L)))
+                .thenReturn(new StockReservationResult(Map.of(), List.of(new StockShortage(1L, 2L))));
+
+        List<BatchOrderResult> results = orderApplicationService.createOrders(List.of(
+                new CreateOrderCommand(1L, "key", "hash", List.of(new OrderLineCommand(1L, 2)))));
+
+        assertThat(results).extracting(BatchOrderResult::status).containsExactly(BatchOrderStatus.REJECTED);
+        assertThat(results.get(0).errorCode()).isEqualTo(ErrorCode.BUSINESS_RULE_VIOLATION);
+        verify(stockReservationService, times(2)).availableQuantities(any());
+        verify(orderRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void cancelOrder_recordsReturnedQuantityInLedger() {
+        Order order = Order.create(1L, "key", "hash");
+        ReflectionTestUtils.setField(order, "id", 10L);
+        order.addItem(OrderItem.of(1L, 2, BigDecimal.TEN));
+        when(orderRepository.findById(10L)).thenReturn(Optional.of(order));
+
+        OrderView result = orderApplicationService.cancelOrder(new CancelOrderCommand(1L, 10L));
+
+        assertThat(result.status()).isEqualTo(OrderStatus.CANCELLED);
+        verify(stockLedgerService).recordCancellation(10L, Map.of(1L, 2L));
+        verify(stockPreReservationService).applyAdjustmentsAfterCommit(Map.of(1L, 2L));
     }
 
     @Test
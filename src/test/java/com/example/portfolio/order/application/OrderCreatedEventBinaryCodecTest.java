@@ -0,0 +1,70 @@
+package com.example.portfolio.order.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.portfolio.common.messaging.EncodedEvent;
+import com.example.portfolio.common.messaging.EventCodecProperties;
+import com.example.portfolio.common.messaging.EventCodecRegistry;
+import com.example.portfolio.common.messaging.EventHeaders;
+import com.example.portfolio.common.messaging.EventSchemaRegistry;
+import com.example.portfolio.order.domain.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class OrderCreatedEventBinaryCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OrderCreatedEventBinaryCodec codec;
+
+    private OrderCreatedEvent event;
+
+    @BeforeEach
+    void setUp() {
+        EventCodecProperties properties = new EventCodecProperties(null, Map.of("order.created", "binary"));
+        codec = new OrderCreatedEventBinaryCodec(new EventSchemaRegistry(new DefaultResourceLoader(), objectMapper, properties));
+        event = new OrderCreatedEvent(1_234L, new OrderView(98_765L, 42L, OrderStatus.CREATED, new BigDecimal("25000.00"),
+                "idem-key-1", OffsetDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000, ZoneOffset.UTC),
+                List.of(new OrderItemView(7L, 2, new BigDecimal("10000.00"), new BigDecimal("20000.00")),
+                        new OrderItemView(8L, 1, new BigDecimal("5000.00"), new BigDecimal("5000.00")))));
+    }
+
+    @Test
+    void encode_roundTrips_andIsSmallerThanJson() throws Exception {
+        byte[] binary = codec.encode(event);
+
+        assertThat(codec.decode(binary)).isEqualTo(event);
+        assertThat(binary.length).isLessThan(objectMapper.writeValueAsBytes(event).length / 3);
+    }
+
+    @Test
+    void registry_encodesPerTopicFormat_andDecodesByContentType() throws Exception {
+        EventCodecRegistry registry = new EventCodecRegistry(objectMapper, List.of(codec),
+                new EventCodecProperties(null, Map.of("order.created", "binary")));
+        String json = objectMapper.writeValueAsString(event);
+
+        EncodedEvent binary = registry.encode("order.created", "ORDER_CREATED", json);
+        EncodedEvent passthrough = registry.encode("order.created.audit", "ORDER_CREATED", json);
+
+        assertThat(binary.contentType()).isEqualTo(EventHeaders.APPLICATION_BINARY);
+        assertThat(passthrough.contentType()).isEqualTo(EventHeaders.APPLICATION_JSON);
+        assertThat(registry.decode(binary.contentType(), binary.payload(), OrderCreatedEvent.class)).isEqualTo(event);
+        assertThat(registry.decode(passthrough.contentType(), passthrough.payload(), OrderCreatedEvent.class)).isEqualTo(event);
+    }
+
+    @Test
+    void decode_rejectsVersionMissingFromSchemaFile() {
+        byte[] binary = codec.encode(event);
+        binary[1] = 4;
+
+        assertThatThrownBy(() -> codec.decode(binary)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
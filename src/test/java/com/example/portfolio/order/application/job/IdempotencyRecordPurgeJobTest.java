@@ -0,0 +1,33 @@
+package com.example.portfolio.order.application.job;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.portfolio.order.application.IdempotencyRecordPurgeJob;
+import com.example.portfolio.order.infra.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyRecordPurgeJobTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    void purgeExpired_deletesChunksUntilShortChunk() {
+        when(idempotencyRecordRepository.deleteExpired(any(), eq(100)))
+                .thenReturn(100)
+                .thenReturn(100)
+                .thenReturn(7);
+
+        new IdempotencyRecordPurgeJob(idempotencyRecordRepository, 100).purgeExpired();
+
+        verify(idempotencyRecordRepository, times(3)).deleteExpired(any(), eq(100));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.portfolio.order.application.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.portfolio.order.application.OutboxHousekeepingJob;
+import com.example.portfolio.order.infra.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxHousekeepingJobTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void purgePublished_deletesChunksUntilShortChunk_andCountsRows() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        when(outboxEventRepository.deletePublishedBefore(any(), eq(100)))
+                .thenReturn(100)
+                .thenReturn(42);
+
+        new OutboxHousekeepingJob(outboxEventRepository, meterRegistry, 72, 100).purgePublished();
+
+        verify(outboxEventRepository, times(2)).deletePublishedBefore(any(), eq(100));
+        assertThat(meterRegistry.counter("outbox.purge.deleted").count()).isEqualTo(142);
+        assertThat(meterRegistry.timer("outbox.purge.duration").count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.portfolio.order.application.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.portfolio.common.transaction.RetryingTransactionExecutor;
+import com.example.portfolio.common.transaction.TransactionRetryProperties;
+import com.example.portfolio.order.application.OutboxReplayJob;
+import com.example.portfolio.order.infra.OutboxParkedEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxReplayJobTest {
+
+    @Mock
+    private OutboxParkedEventRepository parkedEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void replayRequested_movesAtMostOneBatchBackToOutbox() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OutboxReplayJob job = new OutboxReplayJob(parkedEventRepository, executor(), meterRegistry, 2);
+        when(parkedEventRepository.findReplayRequestedIdsForUpdate(2)).thenReturn(List.of(10L, 11L));
+        when(parkedEventRepository.restoreToOutbox(eq(List.of(10L, 11L)), any())).thenReturn(2);
+
+        job.replayRequested();
+
+        verify(parkedEventRepository).deleteByIdIn(List.of(10L, 11L));
+        assertThat(meterRegistry.counter("outbox.replay.restored").count()).isEqualTo(2);
+    }
+
+    @Test
+    void replayRequested_doesNothing_whenNoReplayRequested() {
+        OutboxReplayJob job = new OutboxReplayJob(parkedEventRepository, executor(), new SimpleMeterRegistry(), 2);
+        when(parkedEventRepository.findReplayRequestedIdsForUpdate(2)).thenReturn(List.of());
+
+        job.replayRequested();
+
+        verify(parkedEventRepository, never()).restoreToOutbox(any(), any());
+    }
+
+    private RetryingTransactionExecutor executor() {
+        return new RetryingTransactionExecutor(transactionManager, new SimpleMeterRegistry(), new TransactionRetryProperties(3, 1, 1, 2.0));
+    }
+}
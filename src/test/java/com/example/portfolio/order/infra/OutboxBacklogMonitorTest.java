@@ -0,0 +1,65 @@
+package com.example.portfolio.order.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxBacklogMonitorTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void sample_exposesCountsAndOldestAgeThroughGauges() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OutboxBacklogMonitor monitor = new OutboxBacklogMonitor(outboxEventRepository, meterRegistry);
+        when(outboxEventRepository.summarizeBacklog(any())).thenReturn(List.of(row("READY", 120, 8), row("FAILED", 3, 95)));
+
+        monitor.sample();
+
+        assertThat(meterRegistry.get("outbox.backlog").tag("status", "READY").gauge().value()).isEqualTo(120);
+        assertThat(meterRegistry.get("outbox.backlog").tag("status", "FAILED").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("outbox.backlog.oldest.age").gauge().value()).isEqualTo(95);
+        assertThat(monitor.current().sampledAt()).isNotNull();
+    }
+
+    @Test
+    void sample_keepsPreviousSnapshot_whenQueryFails() {
+        OutboxBacklogMonitor monitor = new OutboxBacklogMonitor(outboxEventRepository, new SimpleMeterRegistry());
+        when(outboxEventRepository.summarizeBacklog(any()))
+                .thenReturn(List.of(row("READY", 5, 1)))
+                .thenThrow(new IllegalStateException("db down"));
+
+        monitor.sample();
+        monitor.sample();
+
+        assertThat(monitor.current().ready()).isEqualTo(5);
+    }
+
+    private static OutboxBacklogRow row(String status, long count, long oldestAgeSeconds) {
+        return new OutboxBacklogRow() {
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public Long getOldestAgeSeconds() {
+                return oldestAgeSeconds;
+            }
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.portfolio.order.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 브로커 장애 후 쌓인 백로그 크기별로 drain 속도(건/초)를 측정한다. Kafka는 즉시 응답하는 {@link MockProducer}로 대체해
+ * 선점/상태 갱신 등 DB 쪽 비용만 측정한다. 기본 빌드에서는 제외되며 {@code mvn test -Pbenchmark -Dtest=OutboxDrainBenchmarkTest}로 실행한다.
+ */
+@SpringBootTest(properties = {
+        "app.outbox.poll-interval-ms=3600000",
+        "app.outbox.fast-path.enabled=false",
+        "app.outbox.metrics.sample-interval-ms=3600000",
+        "spring.kafka.bootstrap-servers=localhost:1"
+})
+@Testcontainers
+@Tag("benchmark")
+class OutboxDrainBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDrainBenchmarkTest.class);
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0.39");
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7.2.5"))
+            .withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driver-class-name", mysql::getDriverClassName);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @TestConfiguration
+    static class MockKafkaConfig {
+
+        @Bean
+        @Primary
+        KafkaTemplate<String, byte[]> mockKafkaTemplate() {
+            return new KafkaTemplate<>(new MockProducerFactory<>(
+                    () -> new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer())));
+        }
+    }
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void measureDrainRateByBacklogSize() {
+        List<Integer> backlogs = Arrays.stream(System.getProperty("benchmark.backlogs", "10000,50000,100000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        for (int backlog : backlogs) {
+            seedBacklog(backlog);
+            long startedAt = System.nanoTime();
+            int polls = 0;
+            while (pending() > 0 && polls < 10_000) {
+                outboxPublisher.publishReadyEvents();
+                polls++;
+            }
+            long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            log.info("backlog={} polls={} elapsedMs={} drainRatePerSec={}", backlog, polls, elapsedMs, backlog * 1000L / elapsedMs);
+            assertThat(pending()).isZero();
+        }
+    }
+
+    private void seedBacklog(int size) {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        Timestamp createdAt = Timestamp.from(Instant.now().minusSeconds(600));
+        List<Object[]> rows = IntStream.range(0, size)
+                .mapToObj(i -> new Object[] {10_000_000L + i, "ORDER", String.valueOf(i % 5_000), "ORDER_CREATED", createdAt, createdAt})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO outbox_events (id, aggregate_type, aggregate_id, event_type, payload, status, retries, created_at, available_at) "
+                + "VALUES (?, ?, ?, ?, '{}', 'READY', 0, ?, ?)", rows);
+    }
+
+    private long pending() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE status IN ('READY', 'FAILED')", Long.class);
+        return count == null ? 0 : count;
+    }
+}
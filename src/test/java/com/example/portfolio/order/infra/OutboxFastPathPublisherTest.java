@@ -0,0 +1,58 @@
+package com.example.portfolio.order.infra;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxFastPathPublisherTest {
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    private OutboxFastPathPublisher fastPath;
+
+    @BeforeEach
+    void setUp() {
+        fastPath = new OutboxFastPathPublisher(outboxPublisher, new SimpleMeterRegistry(), true, 100, 50, 100);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        TransactionSynchronizationManager.clearSynchronization();
+        fastPath.shutdown();
+    }
+
+    @Test
+    void publishAfterCommit_publishesOnlyAfterCommit() {
+        fastPath.publishAfterCommit(List.of(1L, 2L));
+        verify(outboxPublisher, never()).publishEvents(List.of(1L, 2L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(outboxPublisher, timeout(1000)).publishEvents(List.of(1L, 2L));
+    }
+
+    @Test
+    void publishAfterCommit_leavesEventsToPoller_whenRolledBack() throws InterruptedException {
+        fastPath.publishAfterCommit(List.of(1L));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        Thread.sleep(50);
+
+        verify(outboxPublisher, never()).publishEvents(List.of(1L));
+    }
+}
@@ -2,20 +2,41 @@ package com.example.portfolio.order.infra;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.example.portfolio.common.messaging.EventCodecProperties;
+import com.example.portfolio.common.messaging.EventCodecRegistry;
+import com.example.portfolio.common.messaging.EventHeaders;
+import com.example.portfolio.common.transaction.RetryingTransactionExecutor;
+import com.example.portfolio.common.transaction.TransactionRetryProperties;
 import com.example.portfolio.order.domain.OutboxEvent;
 import com.example.portfolio.order.domain.OutboxStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaOperations;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class OutboxPublisherTest {
@@ -24,27 +45,312 @@ class OutboxPublisherTest {
     private OutboxEventRepository outboxEventRepository;
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private OutboxParkedEventRepository parkedEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
 
     private OutboxPublisher publisher;
 
     @BeforeEach
     void setUp() {
-        publisher = new OutboxPublisher(outboxEventRepository, kafkaTemplate, "order.created.test");
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = publisher(100, new OutboxDrainProperties(false, 0, 0, 0, 0));
+    }
+
+    private OutboxPublisher publisher(int batchSize, OutboxDrainProperties drainProperties) {
+        RetryingTransactionExecutor transactionExecutor = new RetryingTransactionExecutor(
+                transactionManager, new SimpleMeterRegistry(), new TransactionRetryProperties(3, 1, 1, 2.0));
+        EventCodecRegistry eventCodecRegistry = new EventCodecRegistry(
+                new ObjectMapper(), List.of(), new EventCodecProperties(null, Map.of()));
+        return new OutboxPublisher(outboxEventRepository, parkedEventRepository, kafkaTemplate, eventCodecRegistry, transactionExecutor,
+                meterRegistry, new OutboxBacklogMonitor(outboxEventRepository, meterRegistry), drainProperties,
+                "order.created.test", batchSize, 200, 1000, "replica-a", 8, 3);
+    }
+
+    @Test
+    void publish_marksEventAsPublished() {
+        OutboxEvent event = OutboxEvent.ready(1L, "ORDER", "1", "ORDER_CREATED", "{}");
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(100))).thenReturn(List.of(1L));
+        when(outboxEventRepository.findAllById(List.of(1L))).thenReturn(List.of(event));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.publishReadyEvents();
+
+        verify(outboxEventRepository).claim(eq(List.of(1L)), eq("replica-a"), any());
+        verify(kafkaTemplate).send(record("1", "{}"));
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)), eq("replica-a"), any());
+        verify(outboxEventRepository, never()).markFailedWithBackoff(any(), any(), any());
+    }
+
+    @Test
+    void publish_skipsSend_whenNothingClaimable() {
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(100))).thenReturn(List.of());
+
+        publisher.publishReadyEvents();
+
+        verify(outboxEventRepository, never()).claim(any(), any(), any());
+        verify(kafkaTemplate, never()).send(anyRecord());
+    }
+
+    @Test
+    void publishEvents_claimsOnlyGivenIds() {
+        OutboxEvent event = OutboxEvent.ready(7L, "ORDER", "7", "ORDER_CREATED", "{}");
+        when(outboxEventRepository.findClaimableIdsForUpdateIn(eq(List.of(7L, 8L)), any())).thenReturn(List.of(7L));
+        when(outboxEventRepository.findAllById(List.of(7L))).thenReturn(List.of(event));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.publishEvents(List.of(7L, 8L));
+
+        verify(outboxEventRepository, never()).findClaimableIdsForUpdate(any(), anyInt());
+        verify(outboxEventRepository).markPublished(eq(List.of(7L)), eq("replica-a"), any());
+    }
+
+    @Test
+    void publish_sendsWholeBatch_andSplitsStatusUpdatesByOutcome() {
+        OutboxEvent ok = OutboxEvent.ready(1L, "ORDER", "1", "ORDER_CREATED", "{\"a\":1}");
+        OutboxEvent broken = OutboxEvent.ready(2L, "ORDER", "2", "ORDER_CREATED", "{\"a\":2}");
+        OutboxEvent pending = OutboxEvent.ready(3L, "ORDER", "3", "ORDER_CREATED", "{\"a\":3}");
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(100))).thenReturn(List.of(1L, 2L, 3L));
+        when(outboxEventRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(pending, ok, broken));
+        when(kafkaTemplate.send(record("1", "{\"a\":1}")))
+                .thenReturn(CompletableFuture.<SendResult<String, byte[]>>completedFuture(null));
+        when(kafkaTemplate.send(record("2", "{\"a\":2}")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(kafkaTemplate.send(record("3", "{\"a\":3}")))
+                .thenReturn(new CompletableFuture<>());
+
+        publisher.publishReadyEvents();
+
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)), eq("replica-a"), any());
+        verify(outboxEventRepository).markFailedWithBackoff(eq(List.of(2L)), eq("replica-a"), any());
+        verify(outboxEventRepository, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void publish_stopsAggregateChainOnTimeout_andReleasesUnsentEventsAsSkipped() {
+        OutboxEvent slow = OutboxEvent.ready(1L, "ORDER", "1", "ORDER_CREATED", "{\"seq\":1}");
+        OutboxEvent next = OutboxEvent.ready(2L, "ORDER", "1", "ORDER_CREATED", "{\"seq\":2}");
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(100))).thenReturn(List.of(1L, 2L));
+        when(outboxEventRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(slow, next));
+        when(kafkaTemplate.send(record("1", "{\"seq\":1}"))).thenReturn(
+                new CompletableFuture<SendResult<String, byte[]>>().completeOnTimeout(null, 300, TimeUnit.MILLISECONDS));
+
+        publisher.publishReadyEvents();
+
+        verify(kafkaTemplate, never()).send(record("1", "{\"seq\":2}"));
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)), eq("replica-a"), any());
+        verify(outboxEventRepository).release(eq(List.of(2L)), eq("replica-a"), any());
+        verify(outboxEventRepository, never()).markFailedWithBackoff(any(), any(), any());
+    }
+
+    @Test
+    void publish_holdsBackLaterEventsOfFailedAggregate_andLeavesOtherLanesAlone() {
+        OutboxEvent first = OutboxEvent.ready(1L, "ORDER", "1", "ORDER_CREATED", "{\"seq\":1}");
+        OutboxEvent second = OutboxEvent.ready(2L, "ORDER", "1", "ORDER_CREATED", "{\"seq\":2}");
+        OutboxEvent other = OutboxEvent.ready(3L, "ORDER", "2", "ORDER_CREATED", "{\"seq\":3}");
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(100))).thenReturn(List.of(1L, 2L, 3L));
+        when(outboxEventRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(first, second, other));
+        when(kafkaTemplate.send(record("1", "{\"seq\":1}")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(kafkaTemplate.send(record("2", "{\"seq\":3}")))
+                .thenReturn(CompletableFuture.<SendResult<String, byte[]>>completedFuture(null));
+
+        publisher.publishReadyEvents();
+
+        verify(kafkaTemplate, never()).send(record("1", "{\"seq\":2}"));
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), eq("replica-a"), any());
+        verify(outboxEventRepository).markFailedWithBackoff(eq(List.of(1L)), eq("replica-a"), any());
+        verify(outboxEventRepository).release(eq(List.of(2L)), eq("replica-a"), any());
     }
 
     @Test
-    void publish_marksEventAsPublished() throws Exception {
-        OutboxEvent event = OutboxEvent.ready("ORDER", "1", "ORDER_CREATED", "{}");
-        when(outboxEventRepository.findTop100ByStatusInAndAvailableAtBeforeOrderByCreatedAtAsc(any(), any()))
-                .thenReturn(List.of(event));
-        CompletableFuture<SendResult<String, String>> future = new CompletableFuture<>();
-        future.complete(null);
-        when(kafkaTemplate.send(any(), any(), any())).thenReturn(future);
+    void publish_releasesEventsOfBackingOffLane_withoutSending() {
+        OutboxEvent failing = OutboxEvent.ready(1L, "ORDER", "1", "ORDER_CREATED", "{}");
+        OutboxEvent later = OutboxEvent.ready(2L, "ORDER", "1", "ORDER_CREATED", "{}");
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(100))).thenReturn(List.of(1L), List.of(2L));
+        when(outboxEventRepository.findAllById(List.of(1L))).thenReturn(List.of(failing));
+        when(outboxEventRepository.findAllById(List.of(2L))).thenReturn(List.of(later));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
 
         publisher.publishReadyEvents();
+        publisher.publishReadyEvents();
+
+        verify(kafkaTemplate).send(anyRecord());
+        verify(outboxEventRepository).release(eq(List.of(2L)), eq("replica-a"), any());
+    }
+
+    @Test
+    void publish_sendsStoredPayloadBytes_withContentAndEventTypeHeaders() {
+        OutboxEvent event = OutboxEvent.ready(1L, "ORDER", "1", "ORDER_CREATED", "{\"eventId\":1}");
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(100))).thenReturn(List.of(1L));
+        when(outboxEventRepository.findAllById(List.of(1L))).thenReturn(List.of(event));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.publishReadyEvents();
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(sent.capture());
+        assertThat(sent.getValue().topic()).isEqualTo("order.created.test");
+        assertThat(new String(sent.getValue().value(), StandardCharsets.UTF_8)).isEqualTo("{\"eventId\":1}");
+        assertThat(new String(sent.getValue().headers().lastHeader(EventHeaders.CONTENT_TYPE).value(), StandardCharsets.UTF_8))
+                .isEqualTo(EventHeaders.APPLICATION_JSON);
+        assertThat(new String(sent.getValue().headers().lastHeader(EventHeaders.EVENT_TYPE).value(), StandardCharsets.UTF_8))
+                .isEqualTo("ORDER_CREATED");
+    }
+
+    @Test
+    void publish_sendsWholeBatchInOneKafkaTransaction_whenTemplateIsTransactional() {
+        OutboxEvent first = OutboxEvent.ready(1L, "ORDER", "1", "ORDER_CREATED", "{\"a\":1}");
+        OutboxEvent second = OutboxEvent.ready(2L, "ORDER", "2", "ORDER_CREATED", "{\"a\":2}");
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(100))).thenReturn(List.of(1L, 2L));
+        when(outboxEventRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first, second));
+        when(kafkaTemplate.isTransactional()).thenReturn(true);
+        when(kafkaTemplate.executeInTransaction(any())).thenAnswer(invocation ->
+                invocation.<KafkaOperations.OperationsCallback<String, byte[], Object>>getArgument(0).doInOperations(kafkaTemplate));
+
+        publisher.publishReadyEvents();
+
+        verify(kafkaTemplate).send(record("1", "{\"a\":1}"));
+        verify(kafkaTemplate).send(record("2", "{\"a\":2}"));
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), eq("replica-a"), any());
+        verify(outboxEventRepository, never()).markFailedWithBackoff(any(), any(), any());
+    }
+
+    @Test
+    void publish_retriesWholeBatch_whenKafkaTransactionAborts() {
+        OutboxEvent first = OutboxEvent.ready(1L, "ORDER", "1", "ORDER_CREATED", "{}");
+        OutboxEvent second = OutboxEvent.ready(2L, "ORDER", "2", "ORDER_CREATED", "{}");
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(100))).thenReturn(List.of(1L, 2L));
+        when(outboxEventRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first, second));
+        when(kafkaTemplate.isTransactional()).thenReturn(true);
+        when(kafkaTemplate.executeInTransaction(any())).thenThrow(new KafkaException("commit failed"));
+
+        publisher.publishReadyEvents();
+
+        verify(outboxEventRepository).markFailedWithBackoff(eq(List.of(1L, 2L)), eq("replica-a"), any());
+        verify(outboxEventRepository, never()).markPublished(any(), any(), any());
+    }
+
+    @Test
+    void publish_recordsBatchSizeAndAttemptsByOutcome() {
+        OutboxEvent ok = OutboxEvent.ready(1L, "ORDER", "1", "ORDER_CREATED", "{\"a\":1}");
+        OutboxEvent broken = OutboxEvent.ready(2L, "ORDER", "2", "ORDER_CREATED", "{\"a\":2}");
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(100))).thenReturn(List.of(1L, 2L));
+        when(outboxEventRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(ok, broken));
+        when(outboxEventRepository.markPublished(any(), any(), any())).thenReturn(1);
+        when(kafkaTemplate.send(record("1", "{\"a\":1}"))).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(record("2", "{\"a\":2}"))).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        publisher.publishReadyEvents();
+
+        assertThat(meterRegistry.get("outbox.publish.batch.size").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.publish.attempts").tags("attempt", "1", "outcome", "published").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.publish.attempts").tags("attempt", "1", "outcome", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publish_parksEventsThatReachMaxRetries_andBacksOffTheRest() {
+        OutboxEvent exhausted = failedTimes(OutboxEvent.ready(1L, "ORDER", "1", "ORDER_CREATED", "{\"a\":1}"), 2);
+        OutboxEvent fresh = OutboxEvent.ready(2L, "ORDER", "2", "ORDER_CREATED", "{\"a\":2}");
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(100))).thenReturn(List.of(1L, 2L));
+        when(outboxEventRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(exhausted, fresh));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("poison")));
+        when(parkedEventRepository.parkFromOutbox(eq(List.of(1L)), eq("replica-a"), any())).thenReturn(1);
+
+        publisher.publishReadyEvents();
+
+        verify(outboxEventRepository).markFailedWithBackoff(eq(List.of(2L)), eq("replica-a"), any());
+        verify(outboxEventRepository).deleteClaimed(List.of(1L), "replica-a");
+        assertThat(meterRegistry.get("outbox.parked").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publishReadyEvents_switchesToDrainMode_whenBatchIsFull_andStopsOnceCaughtUp() {
+        OutboxPublisher draining = publisher(2, new OutboxDrainProperties(true, 1_000_000, 3, 60_000, 100));
+        stubClaim(2, List.of(1L, 2L));
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(3))).thenReturn(List.of(3L, 4L, 5L), List.of(6L));
+        stubEvents(List.of(3L, 4L, 5L));
+        stubEvents(List.of(6L));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+
+        draining.publishReadyEvents();
+
+        verify(outboxEventRepository).expediteFailed(any(), eq(100));
+        verify(outboxEventRepository, times(2)).findClaimableIdsForUpdate(any(), eq(3));
+        verify(kafkaTemplate, times(6)).send(anyRecord());
+        assertThat(meterRegistry.get("outbox.drain.runs").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.drain.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void drain_stops_whenBrokerIsStillDown() {
+        OutboxPublisher draining = publisher(1, new OutboxDrainProperties(true, 1_000_000, 1, 60_000, 100));
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(1))).thenReturn(List.of(1L), List.of(2L));
+        stubEvents(List.of(1L));
+        stubEvents(List.of(2L));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(
+                CompletableFuture.completedFuture(null),
+                CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        draining.publishReadyEvents();
+
+        verify(outboxEventRepository, times(2)).findClaimableIdsForUpdate(any(), eq(1));
+    }
+
+    @Test
+    void publishReadyEvents_doesNotDrain_whileBrokerIsDown() {
+        OutboxPublisher draining = publisher(1, new OutboxDrainProperties(true, 1_000_000, 1, 60_000, 100));
+        stubClaim(1, List.of(1L));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        draining.publishReadyEvents();
+
+        verify(outboxEventRepository, never()).expediteFailed(any(), anyInt());
+    }
+
+    @Test
+    void publishReadyEvents_staysInNormalMode_whenBatchIsNotFullAndBacklogIsSmall() {
+        OutboxPublisher draining = publisher(2, new OutboxDrainProperties(true, 1_000, 3, 60_000, 100));
+        stubClaim(2, List.of(1L));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+
+        draining.publishReadyEvents();
+
+        verify(outboxEventRepository, never()).expediteFailed(any(), anyInt());
+    }
+
+    private void stubClaim(int limit, List<Long> ids) {
+        when(outboxEventRepository.findClaimableIdsForUpdate(any(), eq(limit))).thenReturn(ids);
+        stubEvents(ids);
+    }
+
+    private void stubEvents(List<Long> ids) {
+        when(outboxEventRepository.findAllById(ids)).thenReturn(ids.stream()
+                .map(id -> OutboxEvent.ready(id, "ORDER", String.valueOf(id), "ORDER_CREATED", "{}"))
+                .toList());
+    }
+
+    /**
+     * 재시도를 times번 실패한 뒤 저장소에서 읽어 온 이벤트처럼 만든다.
+     */
+    private static OutboxEvent failedTimes(OutboxEvent event, int times) {
+        ReflectionTestUtils.setField(event, "status", OutboxStatus.FAILED);
+        ReflectionTestUtils.setField(event, "retries", times);
+        return event;
+    }
+
+    private static ProducerRecord<String, byte[]> anyRecord() {
+        return any();
+    }
 
-        verify(kafkaTemplate).send("order.created.test", "1", "{}");
-        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PUBLISHED);
+    private static ProducerRecord<String, byte[]> record(String key, String payload) {
+        return argThat(record -> record != null && key.equals(record.key())
+                && payload.equals(new String(record.value(), StandardCharsets.UTF_8)));
     }
 }